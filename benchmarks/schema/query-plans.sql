@@ -0,0 +1,98 @@
+-- EXPLAIN ANALYZE for every repository access path. Selective lookups should show an index or
+-- bitmap scan on hobbies and the join tables. A "Seq Scan" on a large table is only expected where
+-- the predicate matches a large share of it (a whole location) and a LIMIT stops the scan early.
+
+-- HobbyRepository.findAllByCreator
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM hobbies WHERE creator = 'bench_business_42';
+
+-- HobbyRepository.findAllByLocation
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM hobbies WHERE location_id = (SELECT id FROM locations WHERE name = 'ZURICH') LIMIT 1000;
+
+-- HobbyRepository.searchHobbies
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT m.id, ts_rank_cd(m.search_vector, q) AS rank
+FROM hobbies m, websearch_to_tsquery('english', 'chess') q
+WHERE m.search_vector @@ q
+  AND m.location_id = (SELECT id FROM locations WHERE name = 'BERN')
+ORDER BY rank DESC, m.id DESC LIMIT 21;
+
+-- HobbyRepository.browseHobbies (location + category, price ascending, second page)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT h.id, h.name, h.price FROM hobbies h
+WHERE h.location_id = (SELECT id FROM locations WHERE name = 'ZURICH')
+  AND h.category_id = (SELECT id FROM categories WHERE name = 'ACTIVE')
+  AND h.price >= 50 AND h.price <= 200
+  AND (h.price, h.id) > (60, 0)
+ORDER BY h.price, h.id LIMIT 21;
+
+-- HobbyRepository.browseHobbies (NEWEST, the default sort, second page) with location + category, location
+-- only and category only. Each should walk an index ending in id backwards and stop after the LIMIT; with a
+-- filter matching a large share of the table (as in the seed) walking the primary key backwards is as cheap.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT h.id, h.name, h.price FROM hobbies h
+WHERE h.location_id = (SELECT id FROM locations WHERE name = 'ZURICH')
+  AND h.category_id = (SELECT id FROM categories WHERE name = 'ACTIVE')
+  AND h.id < (SELECT max(id) - 1000 FROM hobbies)
+ORDER BY h.id DESC LIMIT 21;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT h.id, h.name, h.price FROM hobbies h
+WHERE h.location_id = (SELECT id FROM locations WHERE name = 'BERN')
+  AND h.id < (SELECT max(id) - 1000 FROM hobbies)
+ORDER BY h.id DESC LIMIT 21;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT h.id, h.name, h.price FROM hobbies h
+WHERE h.category_id = (SELECT id FROM categories WHERE name = 'FUN')
+  AND h.id < (SELECT max(id) - 1000 FROM hobbies)
+ORDER BY h.id DESC LIMIT 21;
+
+-- HobbyRepository.findVersionById (If-None-Match revalidation of hobby details)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT h.version, h.modified_at FROM hobbies h WHERE h.id = (SELECT min(id) FROM hobbies);
+
+-- HobbyRepository.findAllVersions (catalog verification, a full pass by design)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT h.id, h.version, h.modified_at FROM hobbies h;
+
+-- HobbyRepository.countHobbiesUpTo
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM (SELECT 1 FROM hobbies h WHERE h.category_id = (SELECT id FROM categories WHERE name = 'FUN') LIMIT 1001) capped;
+
+-- UserRepository.findByUsername (JOINED inheritance)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.*, a.*, b.* FROM users u
+LEFT JOIN app_clients a ON a.id = u.id
+LEFT JOIN business_owners b ON b.id = u.id
+WHERE u.username = 'bench_client_500';
+
+-- UserCredentialsRepository.findByUsername (authentication; roles are the users.roles_mask bits)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.id, u.username, u.password, u.roles_mask FROM users u
+WHERE u.username = 'bench_client_500';
+
+-- AppClient.saved_hobbies and AppClient.hobby_matches
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT h.* FROM app_clients_saved_hobbies s JOIN hobbies h ON h.id = s.saved_hobbies_id
+WHERE s.app_client_id = (SELECT id FROM users WHERE username = 'bench_client_500');
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT h.* FROM app_clients_hobby_matches m JOIN hobbies h ON h.id = m.hobby_matches_id
+WHERE m.app_client_id = (SELECT id FROM users WHERE username = 'bench_client_500');
+
+-- UserService.findAndRemoveHobbyFromClientsRecords (removing one hobby from every client)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT app_client_id FROM app_clients_saved_hobbies WHERE saved_hobbies_id = (SELECT min(id) FROM hobbies);
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT app_client_id FROM app_clients_hobby_matches WHERE hobby_matches_id = (SELECT min(id) FROM hobbies);
+
+-- BusinessOwnerRepository.findByBusinessName
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM business_owners WHERE business_name = 'My Business name';
+
+-- test_results by owner
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM test_results WHERE username = 'bench_client_500';
@@ -0,0 +1,40 @@
+-- Bulk data for the schema benchmark. Run once against a database the application has already
+-- started on (so categories and locations exist). Sizes: 1M hobbies, 100k clients.
+BEGIN;
+
+INSERT INTO hobbies (name, slogan, intro, description, price, creator, category_id, location_id, version, modified_at)
+SELECT 'Hobby ' || g || (ARRAY[' horse riding', ' pottery', ' climbing', ' chess club', ' salsa'])[1 + g % 5],
+       'Slogan ' || g,
+       'Intro text for hobby ' || g || ' with outdoor and indoor options',
+       repeat('Long description paragraph about lessons, equipment and schedules. ', 20),
+       (g % 500) + 10,
+       'bench_business_' || (g % 1000),
+       (SELECT id FROM categories ORDER BY id OFFSET g % 7 LIMIT 1),
+       (SELECT id FROM locations ORDER BY id OFFSET g % 4 LIMIT 1),
+       g % 3,
+       now() - (1000000 - g) * interval '1 second'
+FROM generate_series(1, 1000000) g;
+
+-- roles_mask 2 is USER, see UserRoleEnum
+INSERT INTO users (username, email, password, roles_mask)
+SELECT 'bench_client_' || g, 'bench_client_' || g || '@example.com', 'x', 2
+FROM generate_series(1, 100000) g;
+
+INSERT INTO app_clients (id, full_name, gender)
+SELECT id, username, 'OTHER' FROM users WHERE username LIKE 'bench_client_%';
+
+INSERT INTO app_clients_saved_hobbies (app_client_id, saved_hobbies_id)
+SELECT c.id, (SELECT min(id) FROM hobbies) + ((c.id * 7919 + s) % 1000000)
+FROM app_clients c, generate_series(1, 10) s;
+
+INSERT INTO app_clients_hobby_matches (app_client_id, hobby_matches_id)
+SELECT c.id, (SELECT min(id) FROM hobbies) + ((c.id * 104729 + s) % 1000000)
+FROM app_clients c, generate_series(1, 10) s
+ON CONFLICT DO NOTHING;
+
+INSERT INTO test_results (username, category_one, location)
+SELECT username, 'ACTIVE', 'ZURICH' FROM users WHERE username LIKE 'bench_client_%';
+
+COMMIT;
+
+ANALYZE;
@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Compares startup time of the Flyway + ddl-auto=validate configuration with the former ddl-auto=update.
+# Usage: benchmarks/schema/startup.sh [runs]
+# Expects the SPRING_DATASOURCE_* variables and a packaged jar (mvn package -DskipTests).
+set -euo pipefail
+
+RUNS=${1:-5}
+JAR=${JAR:-target/hobbiebackend-0.0.1-SNAPSHOT.jar}
+
+run_once() {
+    local log
+    log=$(mktemp)
+    java -jar "$JAR" --server.port=0 "$@" >"$log" 2>&1 &
+    local pid=$!
+    until grep -q "Started HobbiebackendApplication" "$log"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            cat "$log" >&2
+            return 1
+        fi
+        sleep 0.2
+    done
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    sed -n 's/.*Started HobbiebackendApplication in \([0-9.]*\) seconds.*/\1/p' "$log"
+    rm -f "$log"
+}
+
+measure() {
+    local label=$1
+    shift
+    local times=()
+    for _ in $(seq 1 "$RUNS"); do
+        times+=("$(run_once "$@")")
+    done
+    printf '%s\n' "${times[@]}" | awk -v label="$label" \
+        '{ sum += $1; if (min == "" || $1 < min) min = $1; if ($1 > max) max = $1 }
+         END { printf "%-10s runs=%d avg=%.2fs min=%.2fs max=%.2fs\n", label, NR, sum / NR, min, max }'
+}
+
+measure "validate"
+measure "update" --spring.jpa.hibernate.ddl-auto=update --spring.flyway.enabled=false
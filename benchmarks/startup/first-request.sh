@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Time from JVM launch until the first successful authenticated request (login, then GET /hobbies/browse),
+# for the default configuration, the fast-startup profile, and fast-startup with a class-data-sharing archive.
+# Usage: benchmarks/startup/first-request.sh [runs]
+# Expects the SPRING_DATASOURCE_* variables, a packaged jar (mvn package -DskipTests), curl and a seeded
+# database (the default user/topsecret account, or BENCH_USERNAME/BENCH_PASSWORD).
+set -euo pipefail
+
+RUNS=${1:-5}
+JAR=${JAR:-target/hobbiebackend-0.0.1-SNAPSHOT.jar}
+WORK=${WORK:-target/startup}
+PORT=${PORT:-18080}
+BENCH_USERNAME=${BENCH_USERNAME:-user}
+BENCH_PASSWORD=${BENCH_PASSWORD:-topsecret}
+BASE="http://localhost:$PORT"
+
+# The archive only matches the exact classpath it was trained on, so the jar is extracted once and the
+# training run exits as soon as the context has refreshed.
+build_archive() {
+    rm -rf "$WORK"
+    java -Djarmode=tools -jar "$JAR" extract --destination "$WORK" >/dev/null
+    (cd "$WORK" && java -XX:ArchiveClassesAtExit=application.jsa -Dspring.context.exit=onRefresh \
+        -jar "$(basename "$JAR")" --server.port=0 >training.log 2>&1)
+}
+
+first_request() {
+    local token
+    token=$(curl -sf -X POST "$BASE/authenticate" -H 'Content-Type: application/json' \
+        -d "{\"username\":\"$BENCH_USERNAME\",\"password\":\"$BENCH_PASSWORD\"}" \
+        | sed -n 's/.*"jwtToken":"\([^"]*\)".*/\1/p') || return 1
+    [ -n "$token" ] && curl -sf -o /dev/null "$BASE/hobbies/browse" -H "Authorization: Bearer $token"
+}
+
+run_once() {
+    local log start pid
+    log=$(mktemp)
+    start=$(date +%s%N)
+    java "$@" --server.port="$PORT" >"$log" 2>&1 &
+    pid=$!
+    until first_request; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            cat "$log" >&2
+            return 1
+        fi
+        sleep 0.1
+    done
+    echo "$(( ($(date +%s%N) - start) / 1000000 ))"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+}
+
+measure() {
+    local label=$1
+    shift
+    local times=()
+    for _ in $(seq 1 "$RUNS"); do
+        times+=("$(run_once "$@")")
+    done
+    printf '%s\n' "${times[@]}" | awk -v label="$label" \
+        '{ sum += $1; if (min == "" || $1 < min) min = $1; if ($1 > max) max = $1 }
+         END { printf "%-20s runs=%d avg=%.2fs min=%.2fs max=%.2fs\n", label, NR, sum / NR / 1000, min / 1000, max / 1000 }'
+}
+
+build_archive
+APP="$WORK/$(basename "$JAR")"
+measure "default" -jar "$APP"
+measure "fast-startup" -jar "$APP" --spring.profiles.active=fast-startup
+measure "fast-startup+cds" -XX:SharedArchiveFile="$WORK/application.jsa" -Xlog:cds=off -jar "$APP" \
+    --spring.profiles.active=fast-startup
@@ -0,0 +1,140 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the {@code business_hobby_stats} rollup behind the business dashboard.
+ * <p>
+ * Writers mark the hobbies whose saves, matches or viewers they changed; at a short interval only those rows
+ * are recomputed, in batches. A full pass at a longer interval recomputes every row, which moves the weekly
+ * windows along and catches anything not marked, and drops rows of deleted hobbies. Rows lag the in-memory
+ * save and viewer counters by their flush interval plus this one.
+ */
+@Component
+public class BusinessStatsAggregator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BusinessStatsAggregator.class);
+    private static final int WEEK_DAYS = 7;
+
+    private final HobbyRepository hobbyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Counter refreshedRows;
+
+    @Autowired
+    public BusinessStatsAggregator(HobbyRepository hobbyRepository, PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${business-stats.batch-size:500}") int batchSize) {
+        this(hobbyRepository, transactionManager, meterRegistry, Clock.systemUTC(), batchSize);
+    }
+
+    BusinessStatsAggregator(HobbyRepository hobbyRepository, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry, Clock clock, int batchSize) {
+        this.hobbyRepository = hobbyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.refreshedRows = Counter.builder("hobbie.business.stats.refreshed")
+                .description("Rollup rows recomputed")
+                .register(meterRegistry);
+        Gauge.builder("hobbie.business.stats.dirty", this.dirty, Set::size)
+                .description("Hobbies waiting for their rollup row to be recomputed")
+                .register(meterRegistry);
+    }
+
+    // For changes that are already committed
+    public void markDirty(Collection<Long> hobbyIds) {
+        this.dirty.addAll(hobbyIds);
+    }
+
+    // Call inside the changing transaction, so that the recompute cannot read the state before it
+    public void markDirtyAfterCommit(Collection<Long> hobbyIds) {
+        List<Long> ids = List.copyOf(hobbyIds);
+        HobbyCatalog.afterCommit(() -> markDirty(ids));
+    }
+
+    @Scheduled(fixedDelayString = "${business-stats.refresh-interval-ms:30000}",
+            initialDelayString = "${business-stats.refresh-interval-ms:30000}")
+    public synchronized void refreshDirty() {
+        List<Long> batch = new ArrayList<>(this.batchSize);
+        for (Long hobbyId : new ArrayList<>(this.dirty)) {
+            if (this.dirty.remove(hobbyId)) {
+                batch.add(hobbyId);
+            }
+            if (batch.size() == this.batchSize) {
+                refreshOrRequeue(batch);
+                batch = new ArrayList<>(this.batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            refreshOrRequeue(batch);
+        }
+    }
+
+    // First run shortly after startup, off the startup path
+    @Scheduled(fixedDelayString = "${business-stats.full-refresh-interval-ms:3600000}",
+            initialDelayString = "${business-stats.refresh-interval-ms:30000}")
+    public synchronized void refreshAll() {
+        long started = this.clock.millis();
+        int rows = 0;
+        try {
+            List<Long> batch = this.hobbyRepository.findHobbyIdsAfter(0, this.batchSize);
+            while (!batch.isEmpty()) {
+                refresh(batch);
+                rows += batch.size();
+                batch = this.hobbyRepository.findHobbyIdsAfter(batch.get(batch.size() - 1), this.batchSize);
+            }
+            Integer orphaned = this.transactionTemplate.execute(status -> this.hobbyRepository.deleteOrphanedBusinessStats());
+            LOGGER.info("Business stats recomputed for {} hobbies in {} ms, {} orphaned rows removed",
+                    rows, this.clock.millis() - started, orphaned);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Full business stats refresh failed after {} hobbies", rows, e);
+        }
+    }
+
+    private void refreshOrRequeue(List<Long> hobbyIds) {
+        try {
+            refresh(hobbyIds);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Refreshing business stats for {} hobbies failed, retrying with the next run", hobbyIds.size(), e);
+            this.dirty.addAll(hobbyIds);
+        }
+    }
+
+    void refresh(List<Long> hobbyIds) {
+        LocalDate weekStart = LocalDate.now(this.clock).minusDays(WEEK_DAYS - 1);
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.hobbyRepository.refreshBusinessStats(hobbyIds, weekStart);
+            // Estimates are computed here; the database only stores the sketch bytes
+            Map<Long, Long> uniqueViewers = new HashMap<>();
+            this.hobbyRepository.findViewerSketches(hobbyIds).forEach((hobbyId, registers) ->
+                    uniqueViewers.put(hobbyId, HyperLogLog.fromBytes(registers).estimate()));
+            if (!uniqueViewers.isEmpty()) {
+                this.hobbyRepository.updateUniqueViewers(uniqueViewers);
+            }
+        });
+        this.refreshedRows.increment(hobbyIds.size());
+    }
+}
@@ -0,0 +1,183 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.dto.HobbyVersionDto;
+import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory read model of all hobbies, indexed by id, creator, location and category.
+ * <p>
+ * Readers take the current snapshot from a volatile field and never lock. Writers patch it after their
+ * transaction commits, by swapping in a new snapshot under the catalog lock. A periodic check compares every
+ * version with the database and rebuilds on drift, which also picks up writes made by other instances or
+ * outside the services. Until the first build (and when disabled) {@link #isReady()} is false and callers
+ * read from the database.
+ */
+@Component
+public class HobbyCatalog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HobbyCatalog.class);
+
+    private final HobbyRepository hobbyRepository;
+    private final boolean enabled;
+    private final Counter drift;
+
+    private volatile HobbyCatalogSnapshot snapshot;
+
+    @Autowired
+    public HobbyCatalog(HobbyRepository hobbyRepository, MeterRegistry meterRegistry,
+                        @Value("${hobby.catalog.enabled:true}") boolean enabled) {
+        this.hobbyRepository = hobbyRepository;
+        this.enabled = enabled;
+        this.drift = Counter.builder("hobbie.catalog.drift")
+                .description("Catalog entries found out of date by the consistency check")
+                .register(meterRegistry);
+        Gauge.builder("hobbie.catalog.size", this, catalog -> catalog.isReady() ? catalog.snapshot.size() : 0)
+                .description("Hobbies held in the in-memory catalog")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (this.enabled) {
+            rebuild();
+            LOGGER.info("Hobby catalog loaded with {} hobbies", this.snapshot.size());
+        }
+    }
+
+    public boolean isReady() {
+        return this.snapshot != null;
+    }
+
+    public Optional<HobbyCatalogEntry> find(Long id) {
+        HobbyCatalogSnapshot current = this.snapshot;
+        return current == null ? Optional.empty() : Optional.ofNullable(current.get(id));
+    }
+
+    public List<HobbyCatalogEntry> findByCreator(String creator) {
+        return current().byCreator(creator);
+    }
+
+    public List<HobbyCatalogEntry> findByLocation(LocationEnum location) {
+        return current().byLocation(location);
+    }
+
+    public List<HobbyCatalogEntry> findByCategory(CategoryNameEnum category) {
+        return current().byCategory(category);
+    }
+
+    // Call inside the writing transaction, after the hobby was flushed so id and version are final
+    public void putAfterCommit(Hobby hobby) {
+        HobbyCatalogEntry entry = HobbyCatalogEntry.from(hobby);
+        afterCommit(() -> put(entry));
+    }
+
+    // For freshly inserted hobbies only: no version check, since nothing older can be in the catalog
+    public void putAllAfterCommit(List<Hobby> hobbies) {
+        List<HobbyCatalogEntry> entries = hobbies.stream().map(HobbyCatalogEntry::from).toList();
+        afterCommit(() -> putAll(entries));
+    }
+
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> remove(id));
+    }
+
+    public void removeCreatorAfterCommit(String creator) {
+        afterCommit(() -> removeCreator(creator));
+    }
+
+    @Scheduled(fixedDelayString = "${hobby.catalog.verify-interval-ms:60000}",
+            initialDelayString = "${hobby.catalog.verify-interval-ms:60000}")
+    public void verify() {
+        HobbyCatalogSnapshot checked = this.snapshot;
+        if (checked == null) {
+            return;
+        }
+        int mismatches = checked.countMismatches(this.hobbyRepository.findAllVersions());
+        if (mismatches > 0) {
+            // Writes that committed while the check ran show up here as well; a rebuild is correct either way
+            LOGGER.warn("Hobby catalog differs from the database in {} hobbies, rebuilding", mismatches);
+            this.drift.increment(mismatches);
+            rebuild();
+        }
+    }
+
+    synchronized void put(HobbyCatalogEntry entry) {
+        if (this.snapshot == null) {
+            return;
+        }
+        HobbyCatalogEntry existing = this.snapshot.get(entry.getId());
+        // After-commit hooks of concurrent updates can arrive out of order
+        if (existing != null && existing.getVersion() != null && entry.getVersion() != null
+                && existing.getVersion() > entry.getVersion()) {
+            return;
+        }
+        this.snapshot = this.snapshot.with(entry);
+    }
+
+    synchronized void putAll(List<HobbyCatalogEntry> entries) {
+        if (this.snapshot != null) {
+            this.snapshot = this.snapshot.withAll(entries);
+        }
+    }
+
+    synchronized void remove(Long id) {
+        if (this.snapshot != null) {
+            this.snapshot = this.snapshot.without(id);
+        }
+    }
+
+    synchronized void removeCreator(String creator) {
+        if (this.snapshot != null) {
+            for (HobbyCatalogEntry entry : this.snapshot.byCreator(creator)) {
+                this.snapshot = this.snapshot.without(entry.getId());
+            }
+        }
+    }
+
+    // Holds the lock across the query so that no commit patched in the meantime is overwritten
+    synchronized void rebuild() {
+        this.snapshot = HobbyCatalogSnapshot.of(this.hobbyRepository.findCatalog().stream()
+                .map(HobbyCatalogEntry::from)
+                .toList());
+    }
+
+    private HobbyCatalogSnapshot current() {
+        HobbyCatalogSnapshot current = this.snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Hobby catalog is not loaded");
+        }
+        return current;
+    }
+
+    // Runs the change once the surrounding transaction commits, or right away outside of one
+    static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
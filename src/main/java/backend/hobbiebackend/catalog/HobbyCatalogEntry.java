@@ -0,0 +1,142 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.entities.Category;
+import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.Location;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Immutable read copy of a hobby row. Requests get a fresh {@link Hobby} from {@link #toHobby()}, so nothing
+ * handed out can change what the catalog holds.
+ */
+public final class HobbyCatalogEntry {
+    private final Long id;
+    private final String name;
+    private final String slogan;
+    private final String intro;
+    private final String description;
+    private final Long categoryId;
+    private final CategoryNameEnum category;
+    private final String creator;
+    private final BigDecimal price;
+    private final Long locationId;
+    private final LocationEnum location;
+    private final String profileImgUrl;
+    private final String galleryImgUrl1;
+    private final String galleryImgUrl2;
+    private final String galleryImgUrl3;
+    private final String profileImgId;
+    private final String galleryImg1Id;
+    private final String galleryImg2Id;
+    private final String galleryImg3Id;
+    private final String contactInfo;
+    private final Long version;
+    private final Instant modifiedAt;
+
+    private HobbyCatalogEntry(Hobby hobby) {
+        this.id = hobby.getId();
+        this.name = hobby.getName();
+        this.slogan = hobby.getSlogan();
+        this.intro = hobby.getIntro();
+        this.description = hobby.getDescription();
+        this.categoryId = hobby.getCategory() == null ? null : hobby.getCategory().getId();
+        this.category = hobby.getCategory() == null ? null : hobby.getCategory().getName();
+        this.creator = hobby.getCreator();
+        this.price = hobby.getPrice();
+        this.locationId = hobby.getLocation() == null ? null : hobby.getLocation().getId();
+        this.location = hobby.getLocation() == null ? null : hobby.getLocation().getName();
+        this.profileImgUrl = hobby.getProfileImgUrl();
+        this.galleryImgUrl1 = hobby.getGalleryImgUrl1();
+        this.galleryImgUrl2 = hobby.getGalleryImgUrl2();
+        this.galleryImgUrl3 = hobby.getGalleryImgUrl3();
+        this.profileImgId = hobby.getProfileImg_id();
+        this.galleryImg1Id = hobby.getGalleryImg1_id();
+        this.galleryImg2Id = hobby.getGalleryImg2_id();
+        this.galleryImg3Id = hobby.getGalleryImg3_id();
+        this.contactInfo = hobby.getContactInfo();
+        this.version = hobby.getVersion();
+        this.modifiedAt = hobby.getModifiedAt();
+    }
+
+    // Reads category and location, so call it while the hobby's session is still open
+    public static HobbyCatalogEntry from(Hobby hobby) {
+        return new HobbyCatalogEntry(hobby);
+    }
+
+    public Hobby toHobby() {
+        Hobby hobby = new Hobby();
+        hobby.setId(this.id);
+        hobby.setName(this.name);
+        hobby.setSlogan(this.slogan);
+        hobby.setIntro(this.intro);
+        hobby.setDescription(this.description);
+        if (this.category != null) {
+            Category category = new Category(this.category);
+            category.setId(this.categoryId);
+            hobby.setCategory(category);
+        }
+        hobby.setCreator(this.creator);
+        hobby.setPrice(this.price);
+        if (this.location != null) {
+            Location location = new Location(this.location);
+            location.setId(this.locationId);
+            hobby.setLocation(location);
+        }
+        hobby.setProfileImgUrl(this.profileImgUrl);
+        hobby.setGalleryImgUrl1(this.galleryImgUrl1);
+        hobby.setGalleryImgUrl2(this.galleryImgUrl2);
+        hobby.setGalleryImgUrl3(this.galleryImgUrl3);
+        hobby.setProfileImg_id(this.profileImgId);
+        hobby.setGalleryImg1_id(this.galleryImg1Id);
+        hobby.setGalleryImg2_id(this.galleryImg2Id);
+        hobby.setGalleryImg3_id(this.galleryImg3Id);
+        hobby.setContactInfo(this.contactInfo);
+        hobby.setVersion(this.version);
+        hobby.setModifiedAt(this.modifiedAt);
+        return hobby;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSlogan() {
+        return slogan;
+    }
+
+    public String getCreator() {
+        return creator;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public String getProfileImgUrl() {
+        return profileImgUrl;
+    }
+
+    public CategoryNameEnum getCategory() {
+        return category;
+    }
+
+    public LocationEnum getLocation() {
+        return location;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getModifiedAt() {
+        return modifiedAt;
+    }
+}
@@ -0,0 +1,149 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.dto.HobbyVersionDto;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * One immutable version of the catalog with its indexes. Changes produce a new snapshot that shares every
+ * index list the change did not touch.
+ */
+final class HobbyCatalogSnapshot {
+    private final Map<Long, HobbyCatalogEntry> byId;
+    private final Map<String, List<HobbyCatalogEntry>> byCreator;
+    private final Map<LocationEnum, List<HobbyCatalogEntry>> byLocation;
+    private final Map<CategoryNameEnum, List<HobbyCatalogEntry>> byCategory;
+
+    private HobbyCatalogSnapshot(Map<Long, HobbyCatalogEntry> byId,
+                                 Map<String, List<HobbyCatalogEntry>> byCreator,
+                                 Map<LocationEnum, List<HobbyCatalogEntry>> byLocation,
+                                 Map<CategoryNameEnum, List<HobbyCatalogEntry>> byCategory) {
+        this.byId = byId;
+        this.byCreator = byCreator;
+        this.byLocation = byLocation;
+        this.byCategory = byCategory;
+    }
+
+    static HobbyCatalogSnapshot of(Collection<HobbyCatalogEntry> entries) {
+        Map<Long, HobbyCatalogEntry> byId = new HashMap<>();
+        for (HobbyCatalogEntry entry : entries) {
+            byId.put(entry.getId(), entry);
+        }
+        return new HobbyCatalogSnapshot(Map.copyOf(byId),
+                index(byId.values(), HobbyCatalogEntry::getCreator),
+                index(byId.values(), HobbyCatalogEntry::getLocation),
+                index(byId.values(), HobbyCatalogEntry::getCategory));
+    }
+
+    HobbyCatalogSnapshot with(HobbyCatalogEntry entry) {
+        HobbyCatalogEntry previous = this.byId.get(entry.getId());
+        Map<Long, HobbyCatalogEntry> byId = new HashMap<>(this.byId);
+        byId.put(entry.getId(), entry);
+        return new HobbyCatalogSnapshot(Map.copyOf(byId),
+                reindex(this.byCreator, previous, entry, HobbyCatalogEntry::getCreator),
+                reindex(this.byLocation, previous, entry, HobbyCatalogEntry::getLocation),
+                reindex(this.byCategory, previous, entry, HobbyCatalogEntry::getCategory));
+    }
+
+    // Bulk variant of with(); reindexes once instead of copying every index per entry
+    HobbyCatalogSnapshot withAll(Collection<HobbyCatalogEntry> entries) {
+        Map<Long, HobbyCatalogEntry> byId = new HashMap<>(this.byId);
+        for (HobbyCatalogEntry entry : entries) {
+            byId.put(entry.getId(), entry);
+        }
+        return of(byId.values());
+    }
+
+    HobbyCatalogSnapshot without(Long id) {
+        HobbyCatalogEntry previous = this.byId.get(id);
+        if (previous == null) {
+            return this;
+        }
+        Map<Long, HobbyCatalogEntry> byId = new HashMap<>(this.byId);
+        byId.remove(id);
+        return new HobbyCatalogSnapshot(Map.copyOf(byId),
+                reindex(this.byCreator, previous, null, HobbyCatalogEntry::getCreator),
+                reindex(this.byLocation, previous, null, HobbyCatalogEntry::getLocation),
+                reindex(this.byCategory, previous, null, HobbyCatalogEntry::getCategory));
+    }
+
+    // Immutable maps reject null lookups, and nothing is indexed under null anyway
+    HobbyCatalogEntry get(Long id) {
+        return id == null ? null : this.byId.get(id);
+    }
+
+    List<HobbyCatalogEntry> byCreator(String creator) {
+        return creator == null ? List.of() : this.byCreator.getOrDefault(creator, List.of());
+    }
+
+    List<HobbyCatalogEntry> byLocation(LocationEnum location) {
+        return location == null ? List.of() : this.byLocation.getOrDefault(location, List.of());
+    }
+
+    List<HobbyCatalogEntry> byCategory(CategoryNameEnum category) {
+        return category == null ? List.of() : this.byCategory.getOrDefault(category, List.of());
+    }
+
+    int size() {
+        return this.byId.size();
+    }
+
+    // Rows that are missing, extra or at another version than the database reports
+    int countMismatches(List<HobbyVersionDto> rows) {
+        int mismatches = 0;
+        for (HobbyVersionDto row : rows) {
+            HobbyCatalogEntry entry = this.byId.get(row.getId());
+            if (entry == null || !Objects.equals(entry.getVersion(), row.getVersion())) {
+                mismatches++;
+            }
+        }
+        long known = rows.stream().filter(row -> this.byId.containsKey(row.getId())).count();
+        return mismatches + (int) (this.byId.size() - known);
+    }
+
+    private static <K> Map<K, List<HobbyCatalogEntry>> index(Collection<HobbyCatalogEntry> entries,
+                                                            Function<HobbyCatalogEntry, K> key) {
+        Map<K, List<HobbyCatalogEntry>> index = new HashMap<>();
+        for (HobbyCatalogEntry entry : entries) {
+            K value = key.apply(entry);
+            if (value != null) {
+                index.computeIfAbsent(value, k -> new ArrayList<>()).add(entry);
+            }
+        }
+        index.replaceAll((k, list) -> List.copyOf(list));
+        return Map.copyOf(index);
+    }
+
+    private static <K> Map<K, List<HobbyCatalogEntry>> reindex(Map<K, List<HobbyCatalogEntry>> index,
+                                                              HobbyCatalogEntry previous, HobbyCatalogEntry next,
+                                                              Function<HobbyCatalogEntry, K> key) {
+        Map<K, List<HobbyCatalogEntry>> copy = new HashMap<>(index);
+        if (previous != null && key.apply(previous) != null) {
+            K oldKey = key.apply(previous);
+            Predicate<HobbyCatalogEntry> isPrevious = entry -> entry.getId().equals(previous.getId());
+            List<HobbyCatalogEntry> remaining = copy.getOrDefault(oldKey, List.of()).stream()
+                    .filter(isPrevious.negate())
+                    .toList();
+            if (remaining.isEmpty()) {
+                copy.remove(oldKey);
+            } else {
+                copy.put(oldKey, remaining);
+            }
+        }
+        if (next != null && key.apply(next) != null) {
+            List<HobbyCatalogEntry> entries = new ArrayList<>(copy.getOrDefault(key.apply(next), List.of()));
+            entries.add(next);
+            copy.put(key.apply(next), List.copyOf(entries));
+        }
+        return Map.copyOf(copy);
+    }
+}
@@ -0,0 +1,223 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.repostiory.AppClientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * "Clients who saved this also saved" counts, built from the saved lists at startup and kept current by
+ * every save and unsave.
+ * <p>
+ * Each hobby has a sparse row mapping the hobbies saved next to it to the number of clients that saved both.
+ * Writes are serialized on this object and patch the rows after their transaction commits. Readers get a
+ * ranking cached on the row, recomputed on the first read after a change. Rows are pruned to their top
+ * entries periodically, so a pair that falls out and comes back starts counting from zero again; removed
+ * clients are not subtracted. Until the first build (and when disabled) every hobby has no related hobbies.
+ */
+@Component
+public class HobbyCoOccurrence {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HobbyCoOccurrence.class);
+
+    private final AppClientRepository appClientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int keep;
+    private final Counter pruned;
+
+    private volatile Map<Long, Row> rows;
+
+    @Autowired
+    public HobbyCoOccurrence(AppClientRepository appClientRepository, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${hobby.related.enabled:true}") boolean enabled,
+                             @Value("${hobby.related.keep:50}") int keep) {
+        this.appClientRepository = appClientRepository;
+        // Read-write so the build reads the primary: record() skips saves that commit before the build, so they
+        // must be in its result, which a lagging replica may not have replayed yet
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.keep = keep;
+        this.pruned = Counter.builder("hobbie.related.pruned")
+                .description("Co-occurrence entries dropped by pruning")
+                .register(meterRegistry);
+        Gauge.builder("hobbie.related.rows", this, coOccurrence -> coOccurrence.rows == null ? 0 : coOccurrence.rows.size())
+                .description("Hobbies with at least one related hobby")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (this.enabled) {
+            this.transactionTemplate.executeWithoutResult(status -> rebuild());
+            LOGGER.info("Related hobbies loaded for {} hobbies", this.rows.size());
+        }
+    }
+
+    // Top related hobbies by shared saves; at most the configured number are kept per hobby
+    public RelatedHobbies findRelated(long hobbyId) {
+        Map<Long, Row> current = this.rows;
+        Row row = current == null ? null : current.get(hobbyId);
+        if (row == null) {
+            return RelatedHobbies.NONE;
+        }
+        RelatedHobbies ranking = row.ranking;
+        if (ranking == null) {
+            synchronized (this) {
+                ranking = row.rank(this.keep);
+            }
+        }
+        return ranking;
+    }
+
+    // Call inside the saving transaction with the client's other saved hobbies
+    public void savedAfterCommit(long hobbyId, List<Long> otherSavedIds) {
+        long[] others = toArray(otherSavedIds);
+        HobbyCatalog.afterCommit(() -> record(hobbyId, others, 1));
+    }
+
+    public void unsavedAfterCommit(long hobbyId, List<Long> otherSavedIds) {
+        long[] others = toArray(otherSavedIds);
+        HobbyCatalog.afterCommit(() -> record(hobbyId, others, -1));
+    }
+
+    public void removeAfterCommit(long hobbyId) {
+        HobbyCatalog.afterCommit(() -> remove(hobbyId));
+    }
+
+    @Scheduled(fixedDelayString = "${hobby.related.prune-interval-ms:300000}",
+            initialDelayString = "${hobby.related.prune-interval-ms:300000}")
+    public synchronized void prune() {
+        if (this.rows == null) {
+            return;
+        }
+        int dropped = 0;
+        for (Iterator<Row> it = this.rows.values().iterator(); it.hasNext(); ) {
+            Row row = it.next();
+            int rowDropped = row.counts.retainTop(this.keep);
+            if (rowDropped > 0) {
+                row.ranking = null;
+                dropped += rowDropped;
+            }
+            if (row.counts.size() == 0) {
+                it.remove();
+            }
+        }
+        this.pruned.increment(dropped);
+    }
+
+    synchronized void record(long hobbyId, long[] others, int delta) {
+        if (this.rows == null) {
+            return;
+        }
+        for (long other : others) {
+            if (other != hobbyId) {
+                addPair(this.rows, hobbyId, other, delta);
+                addPair(this.rows, other, hobbyId, delta);
+            }
+        }
+    }
+
+    synchronized void remove(long hobbyId) {
+        if (this.rows == null) {
+            return;
+        }
+        Row removed = this.rows.remove(hobbyId);
+        if (removed != null) {
+            removed.counts.forEachKey(other -> addPair(this.rows, other, hobbyId, -Integer.MAX_VALUE));
+        }
+    }
+
+    // record() calls arriving during the query wait for the lock and then add to the result. A save that committed
+    // before the query but is recorded after it is counted twice, one client too many for its pairs.
+    synchronized void rebuild() {
+        Map<Long, Row> built = new ConcurrentHashMap<>();
+        long[] saved = new long[16];
+        int savedCount = 0;
+        long client = 0;
+        try (Stream<Object[]> pairs = this.appClientRepository.streamSavedPairs()) {
+            for (Iterator<Object[]> it = pairs.iterator(); it.hasNext(); ) {
+                Object[] pair = it.next();
+                long pairClient = ((Number) pair[0]).longValue();
+                if (pairClient != client) {
+                    addClient(built, saved, savedCount);
+                    client = pairClient;
+                    savedCount = 0;
+                }
+                if (savedCount == saved.length) {
+                    saved = Arrays.copyOf(saved, savedCount * 2);
+                }
+                saved[savedCount++] = ((Number) pair[1]).longValue();
+            }
+        }
+        addClient(built, saved, savedCount);
+        for (Row row : built.values()) {
+            row.counts.retainTop(this.keep);
+        }
+        this.rows = built;
+    }
+
+    private static void addClient(Map<Long, Row> rows, long[] saved, int savedCount) {
+        for (int i = 0; i < savedCount; i++) {
+            for (int j = 0; j < savedCount; j++) {
+                if (saved[i] != saved[j]) {
+                    addPair(rows, saved[i], saved[j], 1);
+                }
+            }
+        }
+    }
+
+    private static void addPair(Map<Long, Row> rows, long hobbyId, long otherId, int delta) {
+        Row row = rows.get(hobbyId);
+        if (row == null) {
+            if (delta <= 0) {
+                return;
+            }
+            row = new Row();
+            rows.put(hobbyId, row);
+        }
+        row.counts.add(otherId, delta);
+        row.ranking = null;
+        if (row.counts.size() == 0) {
+            rows.remove(hobbyId);
+        }
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Counts are only touched under the owning HobbyCoOccurrence's lock
+    private static final class Row {
+        private final LongIntHashMap counts = new LongIntHashMap();
+        private volatile RelatedHobbies ranking;
+
+        private RelatedHobbies rank(int limit) {
+            RelatedHobbies current = this.ranking;
+            if (current == null) {
+                long[] ids = new long[Math.min(limit, this.counts.size())];
+                int[] counts = new int[ids.length];
+                current = new RelatedHobbies(ids, counts, this.counts.top(ids.length, ids, counts));
+                this.ranking = current;
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package backend.hobbiebackend.catalog;
+
+import java.time.Instant;
+
+/**
+ * Serialized hobby detail response. The arrays are shared between requests and must never be modified.
+ */
+public final class HobbyJson {
+    private final Long version;
+    private final Instant modifiedAt;
+    private final byte[] plain;
+    private final byte[] gzipped;
+
+    HobbyJson(Long version, Instant modifiedAt, byte[] plain, byte[] gzipped) {
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+        this.plain = plain;
+        this.gzipped = gzipped;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getModifiedAt() {
+        return modifiedAt;
+    }
+
+    public byte[] getPlain() {
+        return plain;
+    }
+
+    // Null when pre-compression is off
+    public byte[] getGzipped() {
+        return gzipped;
+    }
+
+    int size() {
+        return this.plain.length + (this.gzipped == null ? 0 : this.gzipped.length);
+    }
+}
@@ -0,0 +1,97 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.entities.Hobby;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Hobby detail responses as ready-to-send UTF-8 JSON, optionally also gzipped, bounded by total size.
+ * <p>
+ * Entries are keyed by hobby id and carry the version they were serialized from; a lookup only hits when the
+ * catalog still holds that version, so an update makes the old bytes unreachable even before they are
+ * invalidated. Without a loaded catalog the current version is unknown and every lookup misses.
+ */
+@Component
+public class HobbyJsonCache {
+    private final HobbyCatalog hobbyCatalog;
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+    private final Cache<Long, HobbyJson> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public HobbyJsonCache(HobbyCatalog hobbyCatalog, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          @Value("${hobby.json-cache.max-size:16MB}") DataSize maxSize,
+                          @Value("${hobby.json-cache.gzip:true}") boolean gzip) {
+        this.hobbyCatalog = hobbyCatalog;
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, HobbyJson json) -> json.size())
+                .build();
+        // Counted here rather than by Caffeine, which would count a stale version as a hit
+        this.hits = Counter.builder("hobbie.json.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("hobbie.json.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("hobbie.json.cache.entries", this.cache, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    // Returns null on a miss; the id is the boxed path variable, so a hit allocates nothing here
+    public HobbyJson find(Long id) {
+        HobbyJson json = this.cache.getIfPresent(id);
+        if (json == null || !isCurrent(id, json.getVersion())) {
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
+        return json;
+    }
+
+    public HobbyJson store(Hobby hobby) {
+        try {
+            byte[] plain = this.objectMapper.writeValueAsBytes(hobby);
+            HobbyJson json = new HobbyJson(hobby.getVersion(), hobby.getModifiedAt(), plain,
+                    this.gzip ? gzip(plain) : null);
+            if (isCurrent(hobby.getId(), hobby.getVersion())) {
+                this.cache.put(hobby.getId(), json);
+            }
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void invalidate(Long id) {
+        this.cache.invalidate(id);
+    }
+
+    private boolean isCurrent(Long id, Long version) {
+        HobbyCatalogEntry current = this.hobbyCatalog.find(id).orElse(null);
+        return current != null && version != null && version.equals(current.getVersion());
+    }
+
+    private static byte[] gzip(byte[] plain) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(plain.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(plain);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
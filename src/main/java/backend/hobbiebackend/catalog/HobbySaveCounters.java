@@ -0,0 +1,201 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.dto.TrendingHobbyDto;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Save counts per hobby and the weekly trending list per location, without counting the saved lists on reads.
+ * <p>
+ * Saves and unsaves bump a {@link LongAdder} per hobby after their transaction commits. A scheduled flush
+ * adds the accumulated deltas to today's (UTC) row in {@code hobby_save_counts} in one batch; a failed flush
+ * puts them back. Totals, the last seven days and the top hobbies per location are re-read from those rows at
+ * a longer interval. Between two reads, counts are the last read plus what was flushed or counted since.
+ * Every instance flushes its own deltas, but only sees the others' after its next read.
+ */
+@Component
+public class HobbySaveCounters implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HobbySaveCounters.class);
+    private static final LocalDate BEFORE_COUNTING = LocalDate.EPOCH;
+    private static final int WEEK_DAYS = 7;
+
+    private final HobbyRepository hobbyRepository;
+    private final BusinessStatsAggregator businessStatsAggregator;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int trendingSize;
+    private final long refreshIntervalMillis;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> flushed = new ConcurrentHashMap<>();
+    private final Counter flushFailures;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private long lastRefreshMillis;
+
+    @Autowired
+    public HobbySaveCounters(HobbyRepository hobbyRepository, BusinessStatsAggregator businessStatsAggregator,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                             @Value("${hobby.trending.size:20}") int trendingSize,
+                             @Value("${hobby.trending.refresh-interval-ms:60000}") long refreshIntervalMillis) {
+        this(hobbyRepository, businessStatsAggregator, transactionManager, meterRegistry, Clock.systemUTC(),
+                trendingSize, refreshIntervalMillis);
+    }
+
+    HobbySaveCounters(HobbyRepository hobbyRepository, BusinessStatsAggregator businessStatsAggregator,
+                      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, Clock clock,
+                      int trendingSize, long refreshIntervalMillis) {
+        this.hobbyRepository = hobbyRepository;
+        this.businessStatsAggregator = businessStatsAggregator;
+        // Reads are read-write too so they go to the primary: refresh() drops the flushed deltas on the premise
+        // that the read contains them, which a lagging replica does not guarantee
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.trendingSize = trendingSize;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.flushFailures = Counter.builder("hobbie.save.counts.flush.failures").register(meterRegistry);
+        Gauge.builder("hobbie.save.counts.pending", this.pending, HobbySaveCounters::sum)
+                .description("Net saves counted in memory and not yet flushed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        refresh();
+    }
+
+    // Call inside the transaction that saves (1) or unsaves (-1) the hobby
+    public void recordAfterCommit(Long hobbyId, int delta) {
+        HobbyCatalog.afterCommit(() -> adder(this.pending, hobbyId).add(delta));
+    }
+
+    public long totalSaves(Long hobbyId) {
+        return this.snapshot.totals.getOrDefault(hobbyId, 0L) + unread(hobbyId);
+    }
+
+    public long savesThisWeek(Long hobbyId) {
+        return this.snapshot.week.getOrDefault(hobbyId, 0L) + unread(hobbyId);
+    }
+
+    // As of the last read; empty until the first one
+    public List<TrendingHobbyDto> trending(LocationEnum location) {
+        return this.snapshot.trending.getOrDefault(location, List.of());
+    }
+
+    @Scheduled(fixedDelayString = "${hobby.save-counts.flush-interval-ms:10000}",
+            initialDelayString = "${hobby.save-counts.flush-interval-ms:10000}")
+    public synchronized void flushAndRefresh() {
+        flush();
+        if (this.clock.millis() - this.lastRefreshMillis >= this.refreshIntervalMillis) {
+            refresh();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+    }
+
+    void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        this.pending.forEach((hobbyId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(hobbyId, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(this.clock);
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> this.hobbyRepository.addSaveCounts(deltas, today));
+            deltas.forEach((hobbyId, delta) -> adder(this.flushed, hobbyId).add(delta));
+            this.businessStatsAggregator.markDirty(deltas.keySet());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Flushing save counts for {} hobbies failed, keeping them for the next flush", deltas.size(), e);
+            this.flushFailures.increment();
+            deltas.forEach((hobbyId, delta) -> adder(this.pending, hobbyId).add(delta));
+        }
+    }
+
+    void refresh() {
+        LocalDate weekStart = LocalDate.now(this.clock).minusDays(WEEK_DAYS - 1);
+        try {
+            Snapshot read = this.transactionTemplate.execute(status -> new Snapshot(
+                    this.hobbyRepository.sumSaveCounts(BEFORE_COUNTING),
+                    this.hobbyRepository.sumSaveCounts(weekStart),
+                    byLocation(this.hobbyRepository.findTrending(weekStart, this.trendingSize))));
+            // Everything flushed so far is in what was just read
+            this.flushed.clear();
+            this.snapshot = read;
+            this.lastRefreshMillis = this.clock.millis();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Reading save counts failed, keeping the previous counts", e);
+        }
+    }
+
+    private long unread(Long hobbyId) {
+        LongAdder flushedSaves = this.flushed.get(hobbyId);
+        LongAdder pendingSaves = this.pending.get(hobbyId);
+        return (flushedSaves == null ? 0 : flushedSaves.sum()) + (pendingSaves == null ? 0 : pendingSaves.sum());
+    }
+
+    private static Map<LocationEnum, List<TrendingHobbyDto>> byLocation(List<TrendingHobbyDto> trending) {
+        Map<LocationEnum, List<TrendingHobbyDto>> byLocation = new EnumMap<>(LocationEnum.class);
+        for (TrendingHobbyDto hobby : trending) {
+            byLocation.computeIfAbsent(hobby.getLocation(), location -> new ArrayList<>()).add(hobby);
+        }
+        byLocation.replaceAll((location, hobbies) -> List.copyOf(hobbies));
+        return byLocation;
+    }
+
+    private static LongAdder adder(Map<Long, LongAdder> adders, Long hobbyId) {
+        return adders.computeIfAbsent(hobbyId, id -> new LongAdder());
+    }
+
+    private static long sum(Map<Long, LongAdder> adders) {
+        long sum = 0;
+        for (LongAdder adder : adders.values()) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of());
+
+        private final Map<Long, Long> totals;
+        private final Map<Long, Long> week;
+        private final Map<LocationEnum, List<TrendingHobbyDto>> trending;
+
+        private Snapshot(Map<Long, Long> totals, Map<Long, Long> week,
+                         Map<LocationEnum, List<TrendingHobbyDto>> trending) {
+            this.totals = totals;
+            this.week = week;
+            this.trending = trending;
+        }
+    }
+}
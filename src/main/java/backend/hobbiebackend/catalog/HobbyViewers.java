@@ -0,0 +1,127 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.dto.HobbyViewersDto;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate number of distinct users who opened each hobby, without a write per view.
+ * <p>
+ * Views go into a {@link HyperLogLog} per hobby held in memory. A scheduled flush merges those sketches into
+ * the stored ones under row locks and drops them, so memory is one fixed-size sketch per hobby viewed since
+ * the last flush, and instances never overwrite each other's views. Reads merge the stored sketch with the
+ * unflushed one; a failed flush merges its sketches back for the next attempt.
+ */
+@Component
+public class HobbyViewers implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HobbyViewers.class);
+    // Two standard errors, which hold about 95% of estimates
+    private static final double BOUND_ERRORS = 2;
+
+    private final HobbyRepository hobbyRepository;
+    private final BusinessStatsAggregator businessStatsAggregator;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate readTemplate;
+    private final Map<Long, HyperLogLog> pending = new ConcurrentHashMap<>();
+    private final Counter flushFailures;
+
+    @Autowired
+    public HobbyViewers(HobbyRepository hobbyRepository, BusinessStatsAggregator businessStatsAggregator,
+                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.hobbyRepository = hobbyRepository;
+        this.businessStatsAggregator = businessStatsAggregator;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.flushFailures = Counter.builder("hobbie.viewers.flush.failures").register(meterRegistry);
+        Gauge.builder("hobbie.viewers.pending", this.pending, Map::size)
+                .description("Hobbies with views not yet merged into the stored sketches")
+                .register(meterRegistry);
+    }
+
+    public void recordView(Long hobbyId, String username) {
+        long hash = HyperLogLog.hash(username);
+        // compute() keeps each sketch's updates serialized with the flush taking it out
+        this.pending.compute(hobbyId, (id, sketch) -> {
+            HyperLogLog current = sketch == null ? new HyperLogLog() : sketch;
+            current.offer(hash);
+            return current;
+        });
+    }
+
+    public HobbyViewersDto findViewers(Long hobbyId) {
+        HyperLogLog merged = this.readTemplate.execute(status -> this.hobbyRepository.findViewerSketch(hobbyId)
+                .map(HyperLogLog::fromBytes)
+                .orElseGet(HyperLogLog::new));
+        this.pending.computeIfPresent(hobbyId, (id, sketch) -> {
+            merged.merge(sketch);
+            return sketch;
+        });
+        long estimate = merged.estimate();
+        long margin = Math.round(estimate * HyperLogLog.RELATIVE_STANDARD_ERROR * BOUND_ERRORS);
+        HobbyViewersDto viewers = new HobbyViewersDto();
+        viewers.setHobbyId(hobbyId);
+        viewers.setUniqueViewers(estimate);
+        viewers.setRelativeStandardError(HyperLogLog.RELATIVE_STANDARD_ERROR);
+        viewers.setLowerBound(Math.max(0, estimate - margin));
+        viewers.setUpperBound(estimate + margin);
+        return viewers;
+    }
+
+    @Scheduled(fixedDelayString = "${hobby.viewers.flush-interval-ms:60000}",
+            initialDelayString = "${hobby.viewers.flush-interval-ms:60000}")
+    public synchronized void flush() {
+        // Sorted, so that rows are created and locked in the same order by every instance
+        Map<Long, HyperLogLog> taken = new TreeMap<>();
+        for (Long hobbyId : new ArrayList<>(this.pending.keySet())) {
+            HyperLogLog sketch = this.pending.remove(hobbyId);
+            if (sketch != null) {
+                taken.put(hobbyId, sketch);
+            }
+        }
+        if (taken.isEmpty()) {
+            return;
+        }
+        try {
+            this.writeTemplate.executeWithoutResult(status -> {
+                Map<Long, byte[]> stored = this.hobbyRepository.lockViewerSketches(List.copyOf(taken.keySet()));
+                Map<Long, byte[]> merged = new HashMap<>();
+                taken.forEach((hobbyId, sketch) -> {
+                    HyperLogLog sketchToStore = HyperLogLog.fromBytes(stored.getOrDefault(hobbyId, new byte[0]));
+                    sketchToStore.merge(sketch);
+                    merged.put(hobbyId, sketchToStore.toBytes());
+                });
+                this.hobbyRepository.updateViewerSketches(merged);
+            });
+            this.businessStatsAggregator.markDirty(taken.keySet());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Flushing viewer sketches for {} hobbies failed, keeping them for the next flush", taken.size(), e);
+            this.flushFailures.increment();
+            taken.forEach((hobbyId, sketch) -> this.pending.merge(hobbyId, sketch, (current, failed) -> {
+                current.merge(failed);
+                return current;
+            }));
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -0,0 +1,87 @@
+package backend.hobbiebackend.catalog;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Distinct-count sketch with 2^12 one-byte registers (4 KB), so every sketch has the same fixed size.
+ * Estimates have a relative standard error of 1.04 / sqrt(4096), about 1.6%. Merging takes the register
+ * maximum, so merging the same sketch twice changes nothing. Not thread-safe.
+ */
+final class HyperLogLog {
+    static final int PRECISION = 12;
+    static final int REGISTERS = 1 << PRECISION;
+    static final double RELATIVE_STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+
+    private final byte[] registers;
+
+    HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    // An empty array reads as an empty sketch
+    static HyperLogLog fromBytes(byte[] registers) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (registers.length != 0) {
+            if (registers.length != REGISTERS) {
+                throw new IllegalArgumentException("Expected " + REGISTERS + " registers, got " + registers.length);
+            }
+            System.arraycopy(registers, 0, sketch.registers, 0, REGISTERS);
+        }
+        return sketch;
+    }
+
+    void offer(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // The guard bit caps the rank at 64 - PRECISION + 1 when the remaining bits are all zero
+        long remaining = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > this.registers[index]) {
+            this.registers[index] = rank;
+        }
+    }
+
+    void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > this.registers[i]) {
+                this.registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : this.registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        // Linear counting is more accurate while many registers are still empty
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    byte[] toBytes() {
+        return this.registers.clone();
+    }
+
+    // 64-bit FNV-1a with the MurmurHash3 finalizer, which spreads short similar strings over all bits
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,181 @@
+package backend.hobbiebackend.catalog;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing map from positive long keys to int counts, without boxing. Key 0 marks a free slot.
+ * Counts that drop to zero are removed. Not thread-safe.
+ */
+final class LongIntHashMap {
+    private static final int MIN_CAPACITY = 8;
+    private static final int KEY_BITS = 40;
+    private static final long KEY_MASK = (1L << KEY_BITS) - 1;
+    private static final long MAX_SORTED_COUNT = (1L << 23) - 1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap() {
+        this.keys = new long[MIN_CAPACITY];
+        this.values = new int[MIN_CAPACITY];
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    int get(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : this.values[slot];
+    }
+
+    // Returns the new count
+    int add(long key, int delta) {
+        if (key <= 0 || key > KEY_MASK) {
+            throw new IllegalArgumentException("Keys must be positive and below 2^40");
+        }
+        int slot = find(key);
+        if (slot >= 0) {
+            int count = this.values[slot] + delta;
+            if (count <= 0) {
+                removeAt(slot);
+                return 0;
+            }
+            this.values[slot] = count;
+            return count;
+        }
+        if (delta <= 0) {
+            return 0;
+        }
+        if ((this.size + 1) * 4 > this.keys.length * 3) {
+            resize(this.keys.length * 2);
+        }
+        insert(key, delta);
+        this.size++;
+        return delta;
+    }
+
+    boolean remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    void forEachKey(LongConsumer action) {
+        for (long key : this.keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Keys ordered by count, highest first, ties by smaller key. Writes at most {@code limit} entries into
+     * the arrays and returns how many it wrote.
+     */
+    int top(int limit, long[] topKeys, int[] topCounts) {
+        int n = Math.min(limit, this.size);
+        if (n == 0) {
+            return 0;
+        }
+        // Packs the inverted count above the key so that one primitive sort orders both
+        long[] packed = new long[this.size];
+        int i = 0;
+        for (int slot = 0; slot < this.keys.length; slot++) {
+            if (this.keys[slot] != 0) {
+                long count = Math.min(this.values[slot], MAX_SORTED_COUNT);
+                packed[i++] = ((MAX_SORTED_COUNT - count) << KEY_BITS) | this.keys[slot];
+            }
+        }
+        Arrays.sort(packed);
+        for (int j = 0; j < n; j++) {
+            topKeys[j] = packed[j] & KEY_MASK;
+            topCounts[j] = get(topKeys[j]);
+        }
+        return n;
+    }
+
+    // Drops everything below the top entries; returns how many entries were dropped
+    int retainTop(int limit) {
+        if (this.size <= limit) {
+            return 0;
+        }
+        long[] topKeys = new long[limit];
+        int[] topCounts = new int[limit];
+        int kept = top(limit, topKeys, topCounts);
+        int dropped = this.size - kept;
+        int capacity = MIN_CAPACITY;
+        while (kept * 4 > capacity * 3) {
+            capacity *= 2;
+        }
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        for (int i = 0; i < kept; i++) {
+            insert(topKeys[i], topCounts[i]);
+        }
+        this.size = kept;
+        return dropped;
+    }
+
+    private int find(long key) {
+        int mask = this.keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long candidate = this.keys[slot];
+            if (candidate == key) {
+                return slot;
+            }
+            if (candidate == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void insert(long key, int value) {
+        int mask = this.keys.length - 1;
+        int slot = hash(key) & mask;
+        while (this.keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        this.keys[slot] = key;
+        this.values[slot] = value;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void removeAt(int slot) {
+        int mask = this.keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; this.keys[next] != 0; next = (next + 1) & mask) {
+            int home = hash(this.keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.keys[hole] = this.keys[next];
+                this.values[hole] = this.values[next];
+                hole = next;
+            }
+        }
+        this.keys[hole] = 0;
+        this.values[hole] = 0;
+        this.size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                insert(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,31 @@
+package backend.hobbiebackend.catalog;
+
+/**
+ * Hobbies saved together with one hobby, most shared saves first. Immutable once built.
+ */
+public final class RelatedHobbies {
+    static final RelatedHobbies NONE = new RelatedHobbies(new long[0], new int[0], 0);
+
+    private final long[] ids;
+    private final int[] counts;
+    private final int size;
+
+    RelatedHobbies(long[] ids, int[] counts, int size) {
+        this.ids = ids;
+        this.counts = counts;
+        this.size = size;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public long idAt(int index) {
+        return this.ids[index];
+    }
+
+    // Clients that saved both hobbies
+    public int countAt(int index) {
+        return this.counts[index];
+    }
+}
@@ -0,0 +1,40 @@
+package backend.hobbiebackend.config;
+
+import backend.hobbiebackend.monitoring.SqlStatementListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceInstrumentationPostProcessor(Environment environment) {
+        long slowQueryThreshold = environment.getProperty("sql.instrumentation.slow-query-threshold-ms", Long.class, 200L);
+        double bindSampleRate = environment.getProperty("sql.instrumentation.bind-sample-rate", Double.class, 0.1);
+        SqlStatementListener listener = new SqlStatementListener(slowQueryThreshold, bindSampleRate);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Delegating data sources (the read/write router) are skipped, their target pools are proxied instead
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                        && !(bean instanceof DelegatingDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
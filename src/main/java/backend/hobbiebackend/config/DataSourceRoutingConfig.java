@@ -0,0 +1,103 @@
+package backend.hobbiebackend.config;
+
+import backend.hobbiebackend.datasource.ReadWriteRoutingDataSource;
+import backend.hobbiebackend.datasource.RecentWriters;
+import backend.hobbiebackend.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the single auto-configured pool with a primary and a replica pool when datasource.replica.enabled is
+ * set. Read-only transactions are routed to the replica, see {@link ReadWriteRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${datasource.replica.username}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.maximum-pool-size:10}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${datasource.replica.connection-timeout-ms:2000}")
+    private long replicaConnectionTimeout;
+
+    @Value("${datasource.replica.max-lag-ms:1000}")
+    private long maxLagMillis;
+
+    @Value("${datasource.replica.lag-check-interval-ms:1000}")
+    private long lagCheckIntervalMillis;
+
+    @Value("${datasource.replica.lag-query}")
+    private String lagQuery;
+
+    @Value("${datasource.replica.read-your-writes-window-ms:5000}")
+    private long readYourWritesWindowMillis;
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(this.replicaUrl);
+        dataSource.setUsername(this.replicaUsername);
+        dataSource.setPassword(this.replicaPassword);
+        dataSource.setMaximumPoolSize(this.replicaMaximumPoolSize);
+        dataSource.setConnectionTimeout(this.replicaConnectionTimeout);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public RecentWriters recentWriters() {
+        return new RecentWriters(this.readYourWritesWindowMillis);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               RecentWriters recentWriters, MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, this.lagQuery, this.maxLagMillis, recentWriters, meterRegistry);
+        monitor.start(this.lagCheckIntervalMillis);
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor, RecentWriters recentWriters,
+                                 MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routing =
+                new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, recentWriters, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -1,6 +1,9 @@
 package backend.hobbiebackend.config;
 
-import org.modelmapper.ModelMapper;
+import backend.hobbiebackend.monitoring.TimedPasswordEncoder;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -10,12 +13,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class HobbieConfigurationBeans {
     @Bean
-    public PasswordEncoder createPasswordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder createPasswordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(12), meterRegistry);
     }
 
+    // Lazy associations that a use case did not fetch are written as null instead of being loaded during serialization
     @Bean
-    public ModelMapper createModelMapper() {
-        return new ModelMapper();
+    public Module hibernateModule() {
+        // Derived getters such as UserEntity.getRoles are @Transient for JPA but still part of the JSON
+        return new Hibernate6Module().disable(Hibernate6Module.Feature.USE_TRANSIENT_ANNOTATION);
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package backend.hobbiebackend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    // Service timers are tagged by class and method; this guards the series count if a tag ever goes unbounded.
+    private static final int MAX_SERVICE_METHOD_TAGS = 100;
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterFilter serviceMethodCardinalityLimit() {
+        return MeterFilter.maximumAllowableTags("hobbie.service", "method", MAX_SERVICE_METHOD_TAGS, MeterFilter.deny());
+    }
+}
@@ -4,6 +4,7 @@ import backend.hobbiebackend.filter.JwtFilter;
 import backend.hobbiebackend.security.HobbieUserDetailsService;
 import backend.hobbiebackend.security.OAuth2LoginSuccessHandler;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -38,7 +39,8 @@ public class SecurityConfiguration {
     private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -59,8 +61,17 @@ public class SecurityConfiguration {
                                 "/login/oauth2/**"
                         ).permitAll()
 
+                        // Health checks; /livez and /readyz are the probe paths on the application port
+                        .requestMatchers("/actuator/health", "/livez", "/readyz").permitAll()
+                        // The Prometheus scrape is only open on the management port, which binds to an internal address
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+
                         // Admin only endpoints
-                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/admin/**", "/actuator/**").hasRole("ADMIN")
+
+                        // Must precede the business DELETE /hobbies/** rule
+                        .requestMatchers(HttpMethod.DELETE, "/hobbies/remove").hasRole("USER")
 
                         // Business user endpoints
                         .requestMatchers(HttpMethod.POST, "/hobbies").hasRole("BUSINESS_USER")
@@ -71,7 +82,6 @@ public class SecurityConfiguration {
                         // Regular user endpoints
                         .requestMatchers("/client/**", "/test/**").hasRole("USER")
                         .requestMatchers(HttpMethod.POST, "/hobbies/save").hasRole("USER")
-                        .requestMatchers(HttpMethod.DELETE, "/hobbies/remove").hasRole("USER")
                         .requestMatchers("/hobbies/saved").hasRole("USER")
 
                         // Authenticated users (both USER and BUSINESS_USER)
@@ -0,0 +1,5 @@
+package backend.hobbiebackend.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY, REPLICA
+}
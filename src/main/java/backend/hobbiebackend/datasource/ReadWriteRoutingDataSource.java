@@ -0,0 +1,129 @@
+package backend.hobbiebackend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary. A read stays
+ * on the primary when the replica lags behind the configured tolerance, or when the same requester committed a
+ * write within the read-your-writes window.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection before the read-only flag of the transaction is published, the lazy proxy delays
+ * that until the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final RecentWriters recentWriters;
+    private final Counter readWrite;
+    private final Counter readOnly;
+    private final Counter recentWrite;
+    private final Counter replicaLagging;
+    private final Counter replicaFailed;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      RecentWriters recentWriters, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = recentWriters;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.readWrite = routeCounter(meterRegistry, DataSourceRoute.PRIMARY, "read-write");
+        this.recentWrite = routeCounter(meterRegistry, DataSourceRoute.PRIMARY, "recent-write");
+        this.replicaLagging = routeCounter(meterRegistry, DataSourceRoute.PRIMARY, "replica-lagging");
+        this.replicaFailed = routeCounter(meterRegistry, DataSourceRoute.PRIMARY, "replica-failed");
+        this.readOnly = routeCounter(meterRegistry, DataSourceRoute.REPLICA, "read-only");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit(currentRequester());
+            this.readWrite.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        if (this.recentWriters.isRecent(currentRequester())) {
+            this.recentWrite.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        if (!this.lagMonitor.isWithinTolerance()) {
+            this.replicaLagging.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        this.readOnly.increment();
+        return DataSourceRoute.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == this.primary) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            // The lag monitor takes the replica out of rotation on its next check, until then fall back per connection
+            this.replicaFailed.increment();
+            return this.primary.getConnection();
+        }
+    }
+
+    private void recordWriteOnCommit(String requester) {
+        if (requester == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.recordWrite(requester);
+                }
+            });
+        } else {
+            this.recentWriters.recordWrite(requester);
+        }
+    }
+
+    /**
+     * The authenticated user, or the client address for anonymous requests such as signup followed by
+     * authenticate. Work outside a request (seeding, background jobs) has no requester.
+     */
+    static String currentRequester() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return "addr:" + request.getRemoteAddr();
+        }
+        return null;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, DataSourceRoute route, String reason) {
+        return Counter.builder("hobbie.datasource.route")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("target", route.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
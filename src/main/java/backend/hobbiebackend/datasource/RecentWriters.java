@@ -0,0 +1,47 @@
+package backend.hobbiebackend.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers who committed a write in the last few seconds, so their following reads stay on the primary
+ * until the replica has had time to replay the change.
+ */
+public class RecentWriters {
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    public RecentWriters(long windowMillis) {
+        this(windowMillis, System::currentTimeMillis);
+    }
+
+    RecentWriters(long windowMillis, LongSupplier clock) {
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    public void recordWrite(String requester) {
+        if (requester != null && windowMillis > 0) {
+            this.lastWriteMillis.put(requester, clock.getAsLong());
+        }
+    }
+
+    public boolean isRecent(String requester) {
+        if (requester == null) {
+            return false;
+        }
+        Long writtenAt = this.lastWriteMillis.get(requester);
+        return writtenAt != null && clock.getAsLong() - writtenAt < windowMillis;
+    }
+
+    public void prune() {
+        long cutoff = clock.getAsLong() - windowMillis;
+        this.lastWriteMillis.values().removeIf(writtenAt -> writtenAt <= cutoff);
+    }
+
+    public int size() {
+        return this.lastWriteMillis.size();
+    }
+}
@@ -0,0 +1,96 @@
+package backend.hobbiebackend.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica for its replay lag on a background thread. Routing reads the last result, so a slow or
+ * unreachable replica never blocks a request; it just stops receiving reads until it catches up again.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final RecentWriters recentWriters;
+    private ScheduledExecutorService scheduler;
+    private boolean checked;
+
+    private volatile long lagMillis = -1;
+    private volatile boolean available;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMillis, RecentWriters recentWriters,
+                             MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.recentWriters = recentWriters;
+        Gauge.builder("hobbie.datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .description("Replica replay lag in milliseconds, -1 while the replica is unreachable")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public void start(long intervalMillis) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::refresh, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isWithinTolerance() {
+        return this.available && this.lagMillis <= this.maxLagMillis;
+    }
+
+    public long getLagMillis() {
+        return this.lagMillis;
+    }
+
+    void refresh() {
+        try (Connection connection = this.replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(this.lagQuery)) {
+            update(resultSet.next() ? Math.max(0, resultSet.getLong(1)) : 0);
+        } catch (Exception e) {
+            if (this.available || !this.checked) {
+                LOGGER.warn("Replica lag check failed, routing reads to the primary: {}", e.getMessage());
+            }
+            markUnavailable();
+        }
+        this.checked = true;
+        this.recentWriters.prune();
+    }
+
+    void update(long lagMillis) {
+        if (lagMillis > this.maxLagMillis && this.lagMillis <= this.maxLagMillis) {
+            LOGGER.warn("Replica lag {} ms exceeds {} ms, routing reads to the primary", lagMillis, this.maxLagMillis);
+        }
+        this.lagMillis = lagMillis;
+        this.available = true;
+    }
+
+    void markUnavailable() {
+        this.available = false;
+        this.lagMillis = -1;
+    }
+
+    @Override
+    public void close() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package backend.hobbiebackend.filter;
+
+import backend.hobbiebackend.monitoring.SqlRequestStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsFilter extends OncePerRequestFilter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    @Value("${sql.instrumentation.request-statement-warn-threshold:50}")
+    private int statementWarnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        // Set for the whole request so slow-query warnings and other lines logged meanwhile name their request
+        MDC.put("request", httpServletRequest.getMethod() + " " + httpServletRequest.getRequestURI());
+        try {
+            filterChain.doFilter(httpServletRequest, httpServletResponse);
+        } finally {
+            SqlRequestStats.clear();
+            int statements = stats.getStatements();
+            MDC.put("sqlStatements", String.valueOf(statements));
+            MDC.put("sqlMillis", String.valueOf(stats.getElapsedMillis()));
+            try {
+                if (statements > this.statementWarnThreshold) {
+                    LOGGER.warn("{} {} -> {} SQL statements, {} ms in database",
+                            httpServletRequest.getMethod(), httpServletRequest.getRequestURI(), statements, stats.getElapsedMillis());
+                } else {
+                    LOGGER.info("{} {} -> {} SQL statements, {} ms in database",
+                            httpServletRequest.getMethod(), httpServletRequest.getRequestURI(), statements, stats.getElapsedMillis());
+                }
+            } finally {
+                MDC.remove("request");
+                MDC.remove("sqlStatements");
+                MDC.remove("sqlMillis");
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package backend.hobbiebackend.handler;
+
+public class ConflictException extends RuntimeException {
+    private final String field;
+
+    public ConflictException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
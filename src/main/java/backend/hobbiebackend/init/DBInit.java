@@ -4,30 +4,48 @@ import backend.hobbiebackend.service.CategoryService;
 import backend.hobbiebackend.service.HobbyService;
 import backend.hobbiebackend.service.LocationService;
 import backend.hobbiebackend.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
 public class DBInit implements CommandLineRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DBInit.class);
+    private static final String SEED_MARKER = "initial-data";
+
     private final UserService userService;
     private final CategoryService categoryService;
     private final HobbyService hobbyService;
     private final LocationService locationService;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public DBInit(UserService userService, CategoryService categoryService, HobbyService hobbyService, LocationService locationService) {
+    public DBInit(UserService userService, CategoryService categoryService, HobbyService hobbyService,
+                  LocationService locationService, JdbcTemplate jdbcTemplate) {
         this.userService = userService;
         this.categoryService = categoryService;
         this.hobbyService = hobbyService;
         this.locationService = locationService;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
     public void run(String... args) throws Exception {
+        // Once seeded, every later boot costs this one lookup instead of the count queries below
+        Boolean seeded = this.jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM seed_markers WHERE name = ?)", Boolean.class, SEED_MARKER);
+        if (Boolean.TRUE.equals(seeded)) {
+            return;
+        }
         this.userService.seedUsersAndUserRoles();
         this.categoryService.initCategories();
         this.locationService.initLocations();
+        // Instances starting together may both seed; the counts above keep that harmless
+        this.jdbcTemplate.update("INSERT INTO seed_markers (name) VALUES (?) ON CONFLICT DO NOTHING", SEED_MARKER);
+        LOGGER.info("Initial data seeded");
     }
 
 }
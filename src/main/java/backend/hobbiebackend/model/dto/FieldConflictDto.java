@@ -0,0 +1,30 @@
+package backend.hobbiebackend.model.dto;
+
+public class FieldConflictDto {
+    private String field;
+    private String message;
+
+    public FieldConflictDto() {
+    }
+
+    public FieldConflictDto(String field, String message) {
+        this.field = field;
+        this.message = message;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
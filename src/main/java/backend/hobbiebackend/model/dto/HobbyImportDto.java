@@ -0,0 +1,84 @@
+package backend.hobbiebackend.model.dto;
+
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+
+import java.math.BigDecimal;
+
+public class HobbyImportDto {
+    private String name;
+    private String slogan;
+    private String intro;
+    private String description;
+    private CategoryNameEnum category;
+    private BigDecimal price;
+    private LocationEnum location;
+    private String contactInfo;
+
+    public HobbyImportDto() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSlogan() {
+        return slogan;
+    }
+
+    public void setSlogan(String slogan) {
+        this.slogan = slogan;
+    }
+
+    public String getIntro() {
+        return intro;
+    }
+
+    public void setIntro(String intro) {
+        this.intro = intro;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public CategoryNameEnum getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategoryNameEnum category) {
+        this.category = category;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public LocationEnum getLocation() {
+        return location;
+    }
+
+    public void setLocation(LocationEnum location) {
+        this.location = location;
+    }
+
+    public String getContactInfo() {
+        return contactInfo;
+    }
+
+    public void setContactInfo(String contactInfo) {
+        this.contactInfo = contactInfo;
+    }
+}
@@ -0,0 +1,30 @@
+package backend.hobbiebackend.model.dto;
+
+public class HobbyImportErrorDto {
+    private long row;
+    private String message;
+
+    public HobbyImportErrorDto() {
+    }
+
+    public HobbyImportErrorDto(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
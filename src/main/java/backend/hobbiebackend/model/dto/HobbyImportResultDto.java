@@ -0,0 +1,65 @@
+package backend.hobbiebackend.model.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HobbyImportResultDto {
+    private long imported;
+    private long failed;
+    private List<HobbyImportErrorDto> errors = new ArrayList<>();
+    // Errors beyond the reported ones are only counted in failed
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    public HobbyImportResultDto() {
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<HobbyImportErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<HobbyImportErrorDto> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
@@ -0,0 +1,50 @@
+package backend.hobbiebackend.model.dto;
+
+import java.util.List;
+
+public class HobbyPageDto {
+    private List<HobbySummaryDto> items;
+    private String nextCursor;
+    private Long matchCount;
+    private Boolean matchCountCapped;
+
+    public HobbyPageDto() {
+    }
+
+    public HobbyPageDto(List<HobbySummaryDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<HobbySummaryDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<HobbySummaryDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getMatchCount() {
+        return matchCount;
+    }
+
+    public void setMatchCount(Long matchCount) {
+        this.matchCount = matchCount;
+    }
+
+    public Boolean getMatchCountCapped() {
+        return matchCountCapped;
+    }
+
+    public void setMatchCountCapped(Boolean matchCountCapped) {
+        this.matchCountCapped = matchCountCapped;
+    }
+}
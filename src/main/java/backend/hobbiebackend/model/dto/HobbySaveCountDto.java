@@ -0,0 +1,40 @@
+package backend.hobbiebackend.model.dto;
+
+public class HobbySaveCountDto {
+    private Long hobbyId;
+    private long saves;
+    private long savesThisWeek;
+
+    public HobbySaveCountDto() {
+    }
+
+    public HobbySaveCountDto(Long hobbyId, long saves, long savesThisWeek) {
+        this.hobbyId = hobbyId;
+        this.saves = saves;
+        this.savesThisWeek = savesThisWeek;
+    }
+
+    public Long getHobbyId() {
+        return hobbyId;
+    }
+
+    public void setHobbyId(Long hobbyId) {
+        this.hobbyId = hobbyId;
+    }
+
+    public long getSaves() {
+        return saves;
+    }
+
+    public void setSaves(long saves) {
+        this.saves = saves;
+    }
+
+    public long getSavesThisWeek() {
+        return savesThisWeek;
+    }
+
+    public void setSavesThisWeek(long savesThisWeek) {
+        this.savesThisWeek = savesThisWeek;
+    }
+}
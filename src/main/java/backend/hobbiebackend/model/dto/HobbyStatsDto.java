@@ -0,0 +1,87 @@
+package backend.hobbiebackend.model.dto;
+
+import java.time.Instant;
+
+public class HobbyStatsDto {
+    private Long hobbyId;
+    private String name;
+    private long saves;
+    private long savesThisWeek;
+    private long savesLastWeek;
+    private long matchAppearances;
+    private long uniqueViewers;
+    private Instant refreshedAt;
+
+    public HobbyStatsDto() {
+    }
+
+    public Long getHobbyId() {
+        return hobbyId;
+    }
+
+    public void setHobbyId(Long hobbyId) {
+        this.hobbyId = hobbyId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getSaves() {
+        return saves;
+    }
+
+    public void setSaves(long saves) {
+        this.saves = saves;
+    }
+
+    public long getSavesThisWeek() {
+        return savesThisWeek;
+    }
+
+    public void setSavesThisWeek(long savesThisWeek) {
+        this.savesThisWeek = savesThisWeek;
+    }
+
+    public long getSavesLastWeek() {
+        return savesLastWeek;
+    }
+
+    public void setSavesLastWeek(long savesLastWeek) {
+        this.savesLastWeek = savesLastWeek;
+    }
+
+    // Net saves this week minus those of the week before
+    public long getSavesTrend() {
+        return savesThisWeek - savesLastWeek;
+    }
+
+    public long getMatchAppearances() {
+        return matchAppearances;
+    }
+
+    public void setMatchAppearances(long matchAppearances) {
+        this.matchAppearances = matchAppearances;
+    }
+
+    public long getUniqueViewers() {
+        return uniqueViewers;
+    }
+
+    public void setUniqueViewers(long uniqueViewers) {
+        this.uniqueViewers = uniqueViewers;
+    }
+
+    // Null until the aggregator first covered the hobby
+    public Instant getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(Instant refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
@@ -0,0 +1,93 @@
+package backend.hobbiebackend.model.dto;
+
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+
+import java.math.BigDecimal;
+
+public class HobbySummaryDto {
+    private Long id;
+    private String name;
+    private String slogan;
+    private BigDecimal price;
+    private String creator;
+    private String profileImgUrl;
+    private CategoryNameEnum category;
+    private LocationEnum location;
+    private Float relevance;
+
+    public HobbySummaryDto() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSlogan() {
+        return slogan;
+    }
+
+    public void setSlogan(String slogan) {
+        this.slogan = slogan;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public String getCreator() {
+        return creator;
+    }
+
+    public void setCreator(String creator) {
+        this.creator = creator;
+    }
+
+    public String getProfileImgUrl() {
+        return profileImgUrl;
+    }
+
+    public void setProfileImgUrl(String profileImgUrl) {
+        this.profileImgUrl = profileImgUrl;
+    }
+
+    public CategoryNameEnum getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategoryNameEnum category) {
+        this.category = category;
+    }
+
+    public LocationEnum getLocation() {
+        return location;
+    }
+
+    public void setLocation(LocationEnum location) {
+        this.location = location;
+    }
+
+    public Float getRelevance() {
+        return relevance;
+    }
+
+    public void setRelevance(Float relevance) {
+        this.relevance = relevance;
+    }
+}
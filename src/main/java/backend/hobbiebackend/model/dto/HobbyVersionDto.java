@@ -0,0 +1,47 @@
+package backend.hobbiebackend.model.dto;
+
+import java.time.Instant;
+
+public class HobbyVersionDto {
+    private Long id;
+    private Long version;
+    private Instant modifiedAt;
+
+    public HobbyVersionDto() {
+    }
+
+    public HobbyVersionDto(Long version, Instant modifiedAt) {
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+    }
+
+    public HobbyVersionDto(Long id, Long version, Instant modifiedAt) {
+        this.id = id;
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getModifiedAt() {
+        return modifiedAt;
+    }
+
+    public void setModifiedAt(Instant modifiedAt) {
+        this.modifiedAt = modifiedAt;
+    }
+}
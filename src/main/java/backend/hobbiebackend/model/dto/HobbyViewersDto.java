@@ -0,0 +1,52 @@
+package backend.hobbiebackend.model.dto;
+
+public class HobbyViewersDto {
+    private Long hobbyId;
+    private long uniqueViewers;
+    private double relativeStandardError;
+    private long lowerBound;
+    private long upperBound;
+
+    public HobbyViewersDto() {
+    }
+
+    public Long getHobbyId() {
+        return hobbyId;
+    }
+
+    public void setHobbyId(Long hobbyId) {
+        this.hobbyId = hobbyId;
+    }
+
+    public long getUniqueViewers() {
+        return uniqueViewers;
+    }
+
+    public void setUniqueViewers(long uniqueViewers) {
+        this.uniqueViewers = uniqueViewers;
+    }
+
+    public double getRelativeStandardError() {
+        return relativeStandardError;
+    }
+
+    public void setRelativeStandardError(double relativeStandardError) {
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    public long getLowerBound() {
+        return lowerBound;
+    }
+
+    public void setLowerBound(long lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    public long getUpperBound() {
+        return upperBound;
+    }
+
+    public void setUpperBound(long upperBound) {
+        this.upperBound = upperBound;
+    }
+}
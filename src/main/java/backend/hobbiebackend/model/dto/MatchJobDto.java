@@ -0,0 +1,66 @@
+package backend.hobbiebackend.model.dto;
+
+import backend.hobbiebackend.model.entities.enums.MatchJobStatusEnum;
+
+import java.time.Instant;
+
+public class MatchJobDto {
+    private String id;
+    private MatchJobStatusEnum status;
+    private Instant submittedAt;
+    private Instant completedAt;
+    // Set once the job is done; the matches themselves are served by /home
+    private Integer matchCount;
+    private String error;
+
+    public MatchJobDto() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public MatchJobStatusEnum getStatus() {
+        return status;
+    }
+
+    public void setStatus(MatchJobStatusEnum status) {
+        this.status = status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Integer getMatchCount() {
+        return matchCount;
+    }
+
+    public void setMatchCount(Integer matchCount) {
+        this.matchCount = matchCount;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
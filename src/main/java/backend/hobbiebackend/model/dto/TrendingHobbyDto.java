@@ -0,0 +1,42 @@
+package backend.hobbiebackend.model.dto;
+
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+
+public class TrendingHobbyDto {
+    private Long hobbyId;
+    private LocationEnum location;
+    private long saves;
+
+    public TrendingHobbyDto() {
+    }
+
+    public TrendingHobbyDto(Long hobbyId, LocationEnum location, long saves) {
+        this.hobbyId = hobbyId;
+        this.location = location;
+        this.saves = saves;
+    }
+
+    public Long getHobbyId() {
+        return hobbyId;
+    }
+
+    public void setHobbyId(Long hobbyId) {
+        this.hobbyId = hobbyId;
+    }
+
+    public LocationEnum getLocation() {
+        return location;
+    }
+
+    public void setLocation(LocationEnum location) {
+        this.location = location;
+    }
+
+    public long getSaves() {
+        return saves;
+    }
+
+    public void setSaves(long saves) {
+        this.saves = saves;
+    }
+}
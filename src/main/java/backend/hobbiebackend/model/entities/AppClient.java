@@ -1,6 +1,7 @@
 package backend.hobbiebackend.model.entities;
 
 import backend.hobbiebackend.model.entities.enums.GenderEnum;
+import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
 import org.hibernate.annotations.LazyCollection;
 import org.hibernate.annotations.LazyCollectionOption;
 
@@ -10,6 +11,13 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@NamedEntityGraph(name = "AppClient.profile",
+        attributeNodes = {
+                @NamedAttributeNode("testResults"),
+                @NamedAttributeNode(value = "hobby_matches", subgraph = "hobby")
+        },
+        subgraphs = @NamedSubgraph(name = "hobby",
+                attributeNodes = {@NamedAttributeNode("category"), @NamedAttributeNode("location")}))
 @Table(name = "app_clients")
 public class AppClient extends UserEntity implements Serializable {
     private String fullName;
@@ -21,7 +29,7 @@ public class AppClient extends UserEntity implements Serializable {
     public AppClient() {
     }
 
-    public AppClient(String username, String email, List<UserRoleEntity> roles, String password, String fullName, GenderEnum gender) {
+    public AppClient(String username, String email, Set<UserRoleEnum> roles, String password, String fullName, GenderEnum gender) {
         super(username, email, roles, password);
         this.fullName = fullName;
         this.gender = gender;
@@ -46,7 +54,7 @@ public class AppClient extends UserEntity implements Serializable {
         this.gender = gender;
     }
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     public Set<Hobby> getHobby_matches() {
         return hobby_matches;
     }
@@ -55,7 +63,7 @@ public class AppClient extends UserEntity implements Serializable {
         this.hobby_matches = hobby_matches;
     }
 
-    @OneToOne(cascade = CascadeType.REMOVE)
+    @OneToOne(cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
     public Test getTestResults() {
         return testResults;
     }
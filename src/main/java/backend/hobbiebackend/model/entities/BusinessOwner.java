@@ -1,17 +1,22 @@
 package backend.hobbiebackend.model.entities;
 
+import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
+
 import jakarta.persistence.*;
-import java.util.List;
 import java.util.Set;
 
 @Entity
+@NamedEntityGraph(name = "BusinessOwner.profile",
+        attributeNodes = @NamedAttributeNode(value = "hobby_offers", subgraph = "hobby"),
+        subgraphs = @NamedSubgraph(name = "hobby",
+                attributeNodes = {@NamedAttributeNode("category"), @NamedAttributeNode("location")}))
 @Table(name = "business_owners")
 public class BusinessOwner extends UserEntity {
     private String businessName;
     private String address;
     private Set<Hobby> hobby_offers;
 
-    public BusinessOwner(String username, String email, List<UserRoleEntity> roles, String password, String businessName, String address) {
+    public BusinessOwner(String username, String email, Set<UserRoleEnum> roles, String password, String businessName, String address) {
         super(username, email, roles, password);
         this.businessName = businessName;
         this.address = address;
@@ -20,7 +25,7 @@ public class BusinessOwner extends UserEntity {
     public BusinessOwner() {
     }
 
-    @Column(name = "business_name", nullable = false)
+    @Column(name = "business_name", nullable = false, unique = true)
     public String getBusinessName() {
         return businessName;
     }
@@ -38,7 +43,7 @@ public class BusinessOwner extends UserEntity {
         this.address = address;
     }
 
-    @OneToMany(cascade = CascadeType.REMOVE, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.REMOVE)
     public Set<Hobby> getHobby_offers() {
         return hobby_offers;
     }
@@ -1,9 +1,14 @@
 package backend.hobbiebackend.model.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Entity
+@NamedEntityGraph(name = "Hobby.detail",
+        attributeNodes = {@NamedAttributeNode("category"), @NamedAttributeNode("location")})
 @Table(name = "hobbies")
 public class Hobby extends BaseEntity {
     private String name;
@@ -23,6 +28,8 @@ public class Hobby extends BaseEntity {
     private String galleryImg2_id;
     private String galleryImg3_id;
     private String contactInfo;
+    private Long version;
+    private Instant modifiedAt;
 
     public Hobby() {
     }
@@ -90,7 +97,7 @@ public class Hobby extends BaseEntity {
         this.description = description;
     }
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     public Category getCategory() {
         return category;
     }
@@ -117,7 +124,7 @@ public class Hobby extends BaseEntity {
         this.creator = creator;
     }
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     public Location getLocation() {
         return location;
     }
@@ -180,4 +187,24 @@ public class Hobby extends BaseEntity {
     public void setContactInfo(String contactInfo) {
         this.contactInfo = contactInfo;
     }
+
+    @Version
+    @Column(nullable = false)
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @UpdateTimestamp
+    @Column(name = "modified_at", nullable = false)
+    public Instant getModifiedAt() {
+        return modifiedAt;
+    }
+
+    public void setModifiedAt(Instant modifiedAt) {
+        this.modifiedAt = modifiedAt;
+    }
 }
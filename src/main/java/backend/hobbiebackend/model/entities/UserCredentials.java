@@ -0,0 +1,64 @@
+package backend.hobbiebackend.model.entities;
+
+import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of the credential columns of {@code users} for the authentication paths. Unlike a
+ * {@link UserEntity} lookup, loading it never joins the app_clients and business_owners subclass tables.
+ */
+@Entity
+@Immutable
+@Table(name = "users")
+public class UserCredentials extends BaseEntity {
+    private String username;
+    private String email;
+    private String password;
+    private int rolesMask;
+
+    public UserCredentials() {
+    }
+
+    @Column(nullable = false, unique = true, insertable = false, updatable = false)
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    @Column(nullable = false, unique = true, insertable = false, updatable = false)
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    @Column(name = "roles_mask", nullable = false, insertable = false, updatable = false)
+    public int getRolesMask() {
+        return rolesMask;
+    }
+
+    public void setRolesMask(int rolesMask) {
+        this.rolesMask = rolesMask;
+    }
+
+    public boolean hasRole(UserRoleEnum role) {
+        return (rolesMask & role.getMask()) != 0;
+    }
+}
@@ -1,9 +1,11 @@
 package backend.hobbiebackend.model.entities;
 
+import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
@@ -12,14 +14,14 @@ public class UserEntity extends BaseEntity implements Serializable {
 
     private String username;
     private String email;
-    private List<UserRoleEntity> roles = new ArrayList<>();
+    private int rolesMask;
     private String password;
 
 
-    public UserEntity(String username, String email, List<UserRoleEntity> roles, String password) {
+    public UserEntity(String username, String email, Set<UserRoleEnum> roles, String password) {
         this.username = username;
         this.email = email;
-        this.roles = roles;
+        this.rolesMask = UserRoleEnum.maskOf(roles);
         this.password = password;
     }
 
@@ -53,13 +55,33 @@ public class UserEntity extends BaseEntity implements Serializable {
         this.email = email;
     }
 
-    @ManyToMany(fetch = FetchType.EAGER)
-    public List<UserRoleEntity> getRoles() {
+    @JsonIgnore
+    @Column(name = "roles_mask", nullable = false)
+    public int getRolesMask() {
+        return rolesMask;
+    }
+
+    public void setRolesMask(int rolesMask) {
+        this.rolesMask = rolesMask;
+    }
+
+    public boolean hasRole(UserRoleEnum role) {
+        return (rolesMask & role.getMask()) != 0;
+    }
+
+    @Transient
+    public Set<UserRoleEnum> getRoles() {
+        Set<UserRoleEnum> roles = EnumSet.noneOf(UserRoleEnum.class);
+        for (UserRoleEnum role : UserRoleEnum.values()) {
+            if (hasRole(role)) {
+                roles.add(role);
+            }
+        }
         return roles;
     }
 
-    public void setRoles(List<UserRoleEntity> roles) {
-        this.roles = roles;
+    public void setRoles(Set<UserRoleEnum> roles) {
+        this.rolesMask = UserRoleEnum.maskOf(roles);
     }
 
 
@@ -0,0 +1,5 @@
+package backend.hobbiebackend.model.entities.enums;
+
+public enum HobbyImportFormatEnum {
+    CSV, NDJSON
+}
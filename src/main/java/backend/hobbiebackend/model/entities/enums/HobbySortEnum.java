@@ -0,0 +1,5 @@
+package backend.hobbiebackend.model.entities.enums;
+
+public enum HobbySortEnum {
+    PRICE_ASC, PRICE_DESC, NEWEST
+}
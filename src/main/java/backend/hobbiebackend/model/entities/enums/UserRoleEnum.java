@@ -1,5 +1,24 @@
 package backend.hobbiebackend.model.entities.enums;
 
 public enum UserRoleEnum {
-    ADMIN, USER, BUSINESS_USER;
+    // Bits are persisted in users.roles_mask, so they must never be reassigned
+    ADMIN(1), USER(1 << 1), BUSINESS_USER(1 << 2);
+
+    private final int mask;
+
+    UserRoleEnum(int mask) {
+        this.mask = mask;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public static int maskOf(Iterable<UserRoleEnum> roles) {
+        int mask = 0;
+        for (UserRoleEnum role : roles) {
+            mask |= role.mask;
+        }
+        return mask;
+    }
 }
@@ -1,12 +1,53 @@
 package backend.hobbiebackend.model.repostiory;
 
 import backend.hobbiebackend.model.entities.AppClient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppClientRepository extends JpaRepository<AppClient, Long> {
     Optional<AppClient> findByUsername(String username);
+
+    @EntityGraph("AppClient.profile")
+    Optional<AppClient> findProfileByUsername(String username);
+
+    @EntityGraph("AppClient.profile")
+    Optional<AppClient> findProfileById(Long id);
+
+    // (client id, hobby id) rows of every saved list, grouped by client
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT app_client_id, saved_hobbies_id FROM app_clients_saved_hobbies ORDER BY app_client_id",
+            nativeQuery = true)
+    Stream<Object[]> streamSavedPairs();
+
+    // Join-table deletes: removing a hobby from every client must not load every client.
+    @Modifying
+    @Query(value = "DELETE FROM app_clients_saved_hobbies WHERE saved_hobbies_id = :hobbyId", nativeQuery = true)
+    void deleteSavedHobbyReferences(@Param("hobbyId") Long hobbyId);
+
+    @Modifying
+    @Query(value = "DELETE FROM app_clients_hobby_matches WHERE hobby_matches_id = :hobbyId", nativeQuery = true)
+    void deleteHobbyMatchReferences(@Param("hobbyId") Long hobbyId);
+
+    @Modifying
+    @Query(value = "DELETE FROM app_clients_saved_hobbies WHERE saved_hobbies_id IN "
+            + "(SELECT hobby_offers_id FROM business_owners_hobby_offers WHERE business_owner_id = :ownerId)",
+            nativeQuery = true)
+    void deleteSavedHobbyReferencesForOwner(@Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query(value = "DELETE FROM app_clients_hobby_matches WHERE hobby_matches_id IN "
+            + "(SELECT hobby_offers_id FROM business_owners_hobby_offers WHERE business_owner_id = :ownerId)",
+            nativeQuery = true)
+    void deleteHobbyMatchReferencesForOwner(@Param("ownerId") Long ownerId);
 }
@@ -1,6 +1,7 @@
 package backend.hobbiebackend.model.repostiory;
 
 import backend.hobbiebackend.model.entities.BusinessOwner;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,5 +11,11 @@ import java.util.Optional;
 public interface BusinessOwnerRepository extends JpaRepository<BusinessOwner, Long> {
     Optional<BusinessOwner> findByUsername(String username);
 
-    Optional<BusinessOwner> findByBusinessName(String businessName);
+    @EntityGraph("BusinessOwner.profile")
+    Optional<BusinessOwner> findProfileByUsername(String username);
+
+    @EntityGraph("BusinessOwner.profile")
+    Optional<BusinessOwner> findProfileById(Long id);
+
+    boolean existsByBusinessName(String businessName);
 }
@@ -1,16 +1,68 @@
 package backend.hobbiebackend.model.repostiory;
 
+import backend.hobbiebackend.model.dto.HobbyVersionDto;
 import backend.hobbiebackend.model.entities.Hobby;
 import backend.hobbiebackend.model.entities.Location;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface HobbyRepository extends JpaRepository<Hobby, Long> {
-    Set<Hobby> findAllByCreator(String creator);
+public interface HobbyRepository extends JpaRepository<Hobby, Long>, HobbyRepositoryCustom {
+    @Override
+    @EntityGraph("Hobby.detail")
+    Optional<Hobby> findById(Long id);
 
+    @EntityGraph("Hobby.detail")
+    List<Hobby> findAllByCreator(String creator);
+
+    // Export streams: a server-side cursor fetches rows in chunks, read-only entities keep no dirty-check snapshot
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT h FROM Hobby h LEFT JOIN FETCH h.category LEFT JOIN FETCH h.location "
+            + "WHERE h.creator = :creator ORDER BY h.id")
+    Stream<Hobby> streamAllByCreator(@Param("creator") String creator);
+
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT h FROM AppClient c JOIN c.saved_hobbies h LEFT JOIN FETCH h.category LEFT JOIN FETCH h.location "
+            + "WHERE c.username = :username ORDER BY h.id")
+    Stream<Hobby> streamSavedByClientUsername(@Param("username") String username);
+
+    @Query("SELECT h FROM Hobby h LEFT JOIN FETCH h.category LEFT JOIN FETCH h.location WHERE h.id IN :ids")
+    List<Hobby> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
     List<Hobby> findAllByLocation(Location location);
+
+    @Query("SELECT h FROM AppClient c JOIN c.hobby_matches h LEFT JOIN FETCH h.category LEFT JOIN FETCH h.location "
+            + "WHERE c.username = :username")
+    List<Hobby> findMatchesByClientUsername(@Param("username") String username);
+
+    @Query("SELECT h FROM AppClient c JOIN c.saved_hobbies h LEFT JOIN FETCH h.category LEFT JOIN FETCH h.location "
+            + "WHERE c.id = :clientId")
+    List<Hobby> findSavedByClientId(@Param("clientId") Long clientId);
+
+    @Query("SELECT count(h) > 0 FROM AppClient c JOIN c.saved_hobbies h WHERE c.username = :username AND h.id = :hobbyId")
+    boolean isSavedByClient(@Param("hobbyId") Long hobbyId, @Param("username") String username);
+
+    @Query("SELECT new backend.hobbiebackend.model.dto.HobbyVersionDto(h.version, h.modifiedAt) FROM Hobby h WHERE h.id = :id")
+    Optional<HobbyVersionDto> findVersionById(@Param("id") Long id);
+
+    @EntityGraph("Hobby.detail")
+    @Query("SELECT h FROM Hobby h")
+    List<Hobby> findCatalog();
+
+    @Query("SELECT new backend.hobbiebackend.model.dto.HobbyVersionDto(h.id, h.version, h.modifiedAt) FROM Hobby h")
+    List<HobbyVersionDto> findAllVersions();
 }
@@ -0,0 +1,65 @@
+package backend.hobbiebackend.model.repostiory;
+
+import backend.hobbiebackend.model.dto.HobbyStatsDto;
+import backend.hobbiebackend.model.dto.HobbySummaryDto;
+import backend.hobbiebackend.model.dto.TrendingHobbyDto;
+import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.HobbySortEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface HobbyRepositoryCustom {
+    List<HobbySummaryDto> searchHobbies(String query, CategoryNameEnum category, LocationEnum location,
+                                        Float afterRelevance, Long afterId, int limit);
+
+    List<HobbySummaryDto> browseHobbies(CategoryNameEnum category, LocationEnum location,
+                                        BigDecimal minPrice, BigDecimal maxPrice, HobbySortEnum sort,
+                                        BigDecimal afterPrice, Long afterId, int limit);
+
+    long countHobbiesUpTo(CategoryNameEnum category, LocationEnum location,
+                          BigDecimal minPrice, BigDecimal maxPrice, int cap);
+
+    // Ids drawn from the identity sequence in one round trip, for rows inserted with insertHobbies
+    List<Long> allocateHobbyIds(int count);
+
+    // One JDBC batch for the hobbies and one for the owner's offer links; ids and versions must be set
+    void insertHobbies(List<Hobby> hobbies, Long businessOwnerId);
+
+    // Adds each delta to the hobby's row for the bucket, in one JDBC batch
+    void addSaveCounts(Map<Long, Long> deltas, LocalDate bucket);
+
+    // Net saves per hobby over the buckets from since on; hobbies without saves are left out
+    Map<Long, Long> sumSaveCounts(LocalDate since);
+
+    // The hobbies with the most net saves from since on, at most perLocation for each location
+    List<TrendingHobbyDto> findTrending(LocalDate since, int perLocation);
+
+    // Stored sketch registers for update, creating empty rows first so that every id can be locked
+    Map<Long, byte[]> lockViewerSketches(Collection<Long> hobbyIds);
+
+    void updateViewerSketches(Map<Long, byte[]> registers);
+
+    Optional<byte[]> findViewerSketch(Long hobbyId);
+
+    Map<Long, byte[]> findViewerSketches(Collection<Long> hobbyIds);
+
+    // Recomputes the save and match columns of the rollup rows; weeks start at weekStart and a week before
+    void refreshBusinessStats(Collection<Long> hobbyIds, LocalDate weekStart);
+
+    void updateUniqueViewers(Map<Long, Long> uniqueViewers);
+
+    // Rollup rows of hobbies that no longer exist
+    int deleteOrphanedBusinessStats();
+
+    List<Long> findHobbyIdsAfter(long afterId, int limit);
+
+    // One row per hobby of the creator; zeros for hobbies the aggregator has not covered yet
+    List<HobbyStatsDto> findBusinessStats(String creator);
+}
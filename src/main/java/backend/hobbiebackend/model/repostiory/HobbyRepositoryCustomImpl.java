@@ -0,0 +1,464 @@
+package backend.hobbiebackend.model.repostiory;
+
+import backend.hobbiebackend.model.dto.HobbyStatsDto;
+import backend.hobbiebackend.model.dto.HobbySummaryDto;
+import backend.hobbiebackend.model.dto.TrendingHobbyDto;
+import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.HobbySortEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class HobbyRepositoryCustomImpl implements HobbyRepositoryCustom {
+    private static final String SUMMARY_COLUMNS =
+            "h.id, h.name, h.slogan, h.price, h.creator, h.profile_image_url, c.name, l.name";
+    // search_vector is generated by the database and must not be named here
+    private static final String INSERT_HOBBY = "INSERT INTO hobbies"
+            + " (id, name, slogan, intro, description, category_id, creator, price, location_id, contact_info,"
+            + " version, modified_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_OFFER =
+            "INSERT INTO business_owners_hobby_offers (business_owner_id, hobby_offers_id) VALUES (?, ?)";
+    private static final String ADD_SAVE_COUNT = "INSERT INTO hobby_save_counts (hobby_id, bucket, saves)"
+            + " VALUES (?, ?, ?) ON CONFLICT (hobby_id, bucket) DO UPDATE SET saves = hobby_save_counts.saves + EXCLUDED.saves";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<HobbySummaryDto> searchHobbies(String query, CategoryNameEnum category, LocationEnum location,
+                                               Float afterRelevance, Long afterId, int limit) {
+        // Rank only the ids matched through the GIN index, then join the page rows for display.
+        StringBuilder sql = new StringBuilder()
+                .append("WITH matches AS (")
+                .append(" SELECT m.id, ts_rank_cd(m.search_vector, q) AS rank")
+                .append(" FROM hobbies m, websearch_to_tsquery('english', :query) q")
+                .append(" WHERE m.search_vector @@ q");
+        for (String condition : filterConditions("m", category, location, null, null)) {
+            sql.append(" AND ").append(condition);
+        }
+        sql.append("), page AS (")
+                .append(" SELECT id, rank FROM matches");
+        if (afterRelevance != null && afterId != null) {
+            sql.append(" WHERE (rank, id) < (CAST(:afterRank AS real), :afterId)");
+        }
+        sql.append(" ORDER BY rank DESC, id DESC LIMIT :limit)")
+                .append(" SELECT ").append(SUMMARY_COLUMNS).append(", page.rank")
+                .append(" FROM page JOIN hobbies h ON h.id = page.id")
+                .append(" LEFT JOIN categories c ON c.id = h.category_id")
+                .append(" LEFT JOIN locations l ON l.id = h.location_id")
+                .append(" ORDER BY page.rank DESC, page.id DESC");
+
+        Query nativeQuery = this.entityManager.createNativeQuery(sql.toString());
+        nativeQuery.setParameter("query", query);
+        bindFilters(nativeQuery, category, location, null, null);
+        if (afterRelevance != null && afterId != null) {
+            nativeQuery.setParameter("afterRank", afterRelevance);
+            nativeQuery.setParameter("afterId", afterId);
+        }
+        nativeQuery.setParameter("limit", limit);
+
+        List<HobbySummaryDto> results = new ArrayList<>();
+        for (Object row : nativeQuery.getResultList()) {
+            Object[] columns = (Object[]) row;
+            HobbySummaryDto summary = toSummary(columns);
+            summary.setRelevance(((Number) columns[8]).floatValue());
+            results.add(summary);
+        }
+        return results;
+    }
+
+    @Override
+    public List<HobbySummaryDto> browseHobbies(CategoryNameEnum category, LocationEnum location,
+                                               BigDecimal minPrice, BigDecimal maxPrice, HobbySortEnum sort,
+                                               BigDecimal afterPrice, Long afterId, int limit) {
+        List<String> conditions = filterConditions("h", category, location, minPrice, maxPrice);
+        boolean hasKeyset = afterId != null && (sort == HobbySortEnum.NEWEST || afterPrice != null);
+        String orderBy;
+        switch (sort) {
+            case PRICE_ASC:
+                orderBy = "h.price ASC, h.id ASC";
+                if (hasKeyset) {
+                    conditions.add("(h.price, h.id) > (:afterPrice, :afterId)");
+                }
+                break;
+            case PRICE_DESC:
+                orderBy = "h.price DESC, h.id DESC";
+                if (hasKeyset) {
+                    conditions.add("(h.price, h.id) < (:afterPrice, :afterId)");
+                }
+                break;
+            default:
+                orderBy = "h.id DESC";
+                if (hasKeyset) {
+                    conditions.add("h.id < :afterId");
+                }
+        }
+
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT ").append(SUMMARY_COLUMNS)
+                .append(" FROM hobbies h")
+                .append(" LEFT JOIN categories c ON c.id = h.category_id")
+                .append(" LEFT JOIN locations l ON l.id = h.location_id");
+        appendWhere(sql, conditions);
+        sql.append(" ORDER BY ").append(orderBy)
+                .append(" LIMIT :limit");
+
+        Query nativeQuery = this.entityManager.createNativeQuery(sql.toString());
+        bindFilters(nativeQuery, category, location, minPrice, maxPrice);
+        if (hasKeyset) {
+            if (sort != HobbySortEnum.NEWEST) {
+                nativeQuery.setParameter("afterPrice", afterPrice);
+            }
+            nativeQuery.setParameter("afterId", afterId);
+        }
+        nativeQuery.setParameter("limit", limit);
+
+        List<HobbySummaryDto> results = new ArrayList<>();
+        for (Object row : nativeQuery.getResultList()) {
+            results.add(toSummary((Object[]) row));
+        }
+        return results;
+    }
+
+    @Override
+    public long countHobbiesUpTo(CategoryNameEnum category, LocationEnum location,
+                                 BigDecimal minPrice, BigDecimal maxPrice, int cap) {
+        // The inner LIMIT stops the scan at cap rows, so large catalogs never pay for an exact count.
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM (SELECT 1 FROM hobbies h");
+        appendWhere(sql, filterConditions("h", category, location, minPrice, maxPrice));
+        sql.append(" LIMIT :cap) capped");
+
+        Query nativeQuery = this.entityManager.createNativeQuery(sql.toString());
+        bindFilters(nativeQuery, category, location, minPrice, maxPrice);
+        nativeQuery.setParameter("cap", cap);
+        return ((Number) nativeQuery.getSingleResult()).longValue();
+    }
+
+    @Override
+    public List<Long> allocateHobbyIds(int count) {
+        Query nativeQuery = this.entityManager.createNativeQuery(
+                "SELECT nextval(pg_get_serial_sequence('hobbies', 'id')) FROM generate_series(1, :count)");
+        nativeQuery.setParameter("count", count);
+        List<Long> ids = new ArrayList<>(count);
+        for (Object id : nativeQuery.getResultList()) {
+            ids.add(((Number) id).longValue());
+        }
+        return ids;
+    }
+
+    @Override
+    public void insertHobbies(List<Hobby> hobbies, Long businessOwnerId) {
+        // Plain JDBC batches; with reWriteBatchedInserts the driver sends them as multi-row inserts
+        this.entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_HOBBY)) {
+                for (Hobby hobby : hobbies) {
+                    insert.setLong(1, hobby.getId());
+                    insert.setString(2, hobby.getName());
+                    insert.setString(3, hobby.getSlogan());
+                    insert.setString(4, hobby.getIntro());
+                    insert.setString(5, hobby.getDescription());
+                    setId(insert, 6, hobby.getCategory() == null ? null : hobby.getCategory().getId());
+                    insert.setString(7, hobby.getCreator());
+                    insert.setBigDecimal(8, hobby.getPrice());
+                    setId(insert, 9, hobby.getLocation() == null ? null : hobby.getLocation().getId());
+                    insert.setString(10, hobby.getContactInfo());
+                    insert.setLong(11, hobby.getVersion());
+                    insert.setObject(12, hobby.getModifiedAt().atOffset(ZoneOffset.UTC));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement offer = connection.prepareStatement(INSERT_OFFER)) {
+                for (Hobby hobby : hobbies) {
+                    offer.setLong(1, businessOwnerId);
+                    offer.setLong(2, hobby.getId());
+                    offer.addBatch();
+                }
+                offer.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public void addSaveCounts(Map<Long, Long> deltas, LocalDate bucket) {
+        Date day = Date.valueOf(bucket);
+        this.entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement add = connection.prepareStatement(ADD_SAVE_COUNT)) {
+                for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+                    add.setLong(1, delta.getKey());
+                    add.setDate(2, day);
+                    add.setLong(3, delta.getValue());
+                    add.addBatch();
+                }
+                add.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public Map<Long, Long> sumSaveCounts(LocalDate since) {
+        Query nativeQuery = this.entityManager.createNativeQuery(
+                "SELECT hobby_id, SUM(saves) FROM hobby_save_counts WHERE bucket >= :since"
+                        + " GROUP BY hobby_id HAVING SUM(saves) > 0");
+        nativeQuery.setParameter("since", since);
+        Map<Long, Long> sums = new HashMap<>();
+        for (Object row : nativeQuery.getResultList()) {
+            Object[] columns = (Object[]) row;
+            sums.put(((Number) columns[0]).longValue(), ((Number) columns[1]).longValue());
+        }
+        return sums;
+    }
+
+    @Override
+    public List<TrendingHobbyDto> findTrending(LocalDate since, int perLocation) {
+        // Joining hobbies drops counts left behind by deleted hobbies
+        Query nativeQuery = this.entityManager.createNativeQuery(
+                "SELECT id, location, saves FROM ("
+                        + " SELECT h.id, l.name AS location, s.saves,"
+                        + " row_number() OVER (PARTITION BY l.name ORDER BY s.saves DESC, h.id) AS position"
+                        + " FROM (SELECT hobby_id, SUM(saves) AS saves FROM hobby_save_counts WHERE bucket >= :since"
+                        + " GROUP BY hobby_id HAVING SUM(saves) > 0) s"
+                        + " JOIN hobbies h ON h.id = s.hobby_id"
+                        + " JOIN locations l ON l.id = h.location_id) ranked"
+                        + " WHERE position <= :perLocation ORDER BY location, position");
+        nativeQuery.setParameter("since", since);
+        nativeQuery.setParameter("perLocation", perLocation);
+        List<TrendingHobbyDto> trending = new ArrayList<>();
+        for (Object row : nativeQuery.getResultList()) {
+            Object[] columns = (Object[]) row;
+            trending.add(new TrendingHobbyDto(((Number) columns[0]).longValue(),
+                    LocationEnum.valueOf((String) columns[1]), ((Number) columns[2]).longValue()));
+        }
+        return trending;
+    }
+
+    @Override
+    public Map<Long, byte[]> lockViewerSketches(Collection<Long> hobbyIds) {
+        Long[] ids = hobbyIds.toArray(new Long[0]);
+        Query create = this.entityManager.createNativeQuery(
+                "INSERT INTO hobby_viewer_sketches (hobby_id, registers) SELECT id, ''::bytea FROM unnest(CAST(:ids AS bigint[])) id"
+                        + " ON CONFLICT (hobby_id) DO NOTHING");
+        create.setParameter("ids", ids);
+        create.executeUpdate();
+        // Locks in id order so that concurrent flushes cannot deadlock
+        Query lock = this.entityManager.createNativeQuery(
+                "SELECT hobby_id, registers FROM hobby_viewer_sketches WHERE hobby_id = ANY(CAST(:ids AS bigint[]))"
+                        + " ORDER BY hobby_id FOR UPDATE");
+        lock.setParameter("ids", ids);
+        Map<Long, byte[]> sketches = new HashMap<>();
+        for (Object row : lock.getResultList()) {
+            Object[] columns = (Object[]) row;
+            sketches.put(((Number) columns[0]).longValue(), (byte[]) columns[1]);
+        }
+        return sketches;
+    }
+
+    @Override
+    public void updateViewerSketches(Map<Long, byte[]> registers) {
+        this.entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE hobby_viewer_sketches SET registers = ?, updated_at = now() WHERE hobby_id = ?")) {
+                for (Map.Entry<Long, byte[]> sketch : registers.entrySet()) {
+                    update.setBytes(1, sketch.getValue());
+                    update.setLong(2, sketch.getKey());
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public Optional<byte[]> findViewerSketch(Long hobbyId) {
+        Query nativeQuery = this.entityManager.createNativeQuery(
+                "SELECT registers FROM hobby_viewer_sketches WHERE hobby_id = :hobbyId");
+        nativeQuery.setParameter("hobbyId", hobbyId);
+        for (Object registers : nativeQuery.getResultList()) {
+            return Optional.of((byte[]) registers);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Map<Long, byte[]> findViewerSketches(Collection<Long> hobbyIds) {
+        Query nativeQuery = this.entityManager.createNativeQuery(
+                "SELECT hobby_id, registers FROM hobby_viewer_sketches WHERE hobby_id = ANY(CAST(:ids AS bigint[]))");
+        nativeQuery.setParameter("ids", hobbyIds.toArray(new Long[0]));
+        Map<Long, byte[]> sketches = new HashMap<>();
+        for (Object row : nativeQuery.getResultList()) {
+            Object[] columns = (Object[]) row;
+            sketches.put(((Number) columns[0]).longValue(), (byte[]) columns[1]);
+        }
+        return sketches;
+    }
+
+    @Override
+    public void refreshBusinessStats(Collection<Long> hobbyIds, LocalDate weekStart) {
+        // Each sub-select is an index range on one hobby, so the cost follows the ids, not the table sizes
+        Query nativeQuery = this.entityManager.createNativeQuery(
+                "INSERT INTO business_hobby_stats"
+                        + " (hobby_id, saves, saves_this_week, saves_last_week, match_appearances, refreshed_at)"
+                        + " SELECT h.id,"
+                        + " COALESCE((SELECT SUM(c.saves) FROM hobby_save_counts c WHERE c.hobby_id = h.id), 0),"
+                        + " COALESCE((SELECT SUM(c.saves) FROM hobby_save_counts c"
+                        + " WHERE c.hobby_id = h.id AND c.bucket >= :weekStart), 0),"
+                        + " COALESCE((SELECT SUM(c.saves) FROM hobby_save_counts c"
+                        + " WHERE c.hobby_id = h.id AND c.bucket >= :lastWeekStart AND c.bucket < :weekStart), 0),"
+                        + " (SELECT count(*) FROM app_clients_hobby_matches m WHERE m.hobby_matches_id = h.id),"
+                        + " now()"
+                        + " FROM hobbies h WHERE h.id = ANY(CAST(:ids AS bigint[]))"
+                        + " ON CONFLICT (hobby_id) DO UPDATE SET saves = EXCLUDED.saves,"
+                        + " saves_this_week = EXCLUDED.saves_this_week, saves_last_week = EXCLUDED.saves_last_week,"
+                        + " match_appearances = EXCLUDED.match_appearances, refreshed_at = EXCLUDED.refreshed_at");
+        nativeQuery.setParameter("ids", hobbyIds.toArray(new Long[0]));
+        nativeQuery.setParameter("weekStart", weekStart);
+        nativeQuery.setParameter("lastWeekStart", weekStart.minusDays(7));
+        nativeQuery.executeUpdate();
+    }
+
+    @Override
+    public void updateUniqueViewers(Map<Long, Long> uniqueViewers) {
+        this.entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE business_hobby_stats SET unique_viewers = ? WHERE hobby_id = ?")) {
+                for (Map.Entry<Long, Long> viewers : uniqueViewers.entrySet()) {
+                    update.setLong(1, viewers.getValue());
+                    update.setLong(2, viewers.getKey());
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public int deleteOrphanedBusinessStats() {
+        return this.entityManager.createNativeQuery(
+                "DELETE FROM business_hobby_stats s WHERE NOT EXISTS (SELECT 1 FROM hobbies h WHERE h.id = s.hobby_id)")
+                .executeUpdate();
+    }
+
+    @Override
+    public List<Long> findHobbyIdsAfter(long afterId, int limit) {
+        Query nativeQuery = this.entityManager.createNativeQuery(
+                "SELECT id FROM hobbies WHERE id > :afterId ORDER BY id LIMIT :limit");
+        nativeQuery.setParameter("afterId", afterId);
+        nativeQuery.setParameter("limit", limit);
+        List<Long> ids = new ArrayList<>();
+        for (Object id : nativeQuery.getResultList()) {
+            ids.add(((Number) id).longValue());
+        }
+        return ids;
+    }
+
+    @Override
+    public List<HobbyStatsDto> findBusinessStats(String creator) {
+        Query nativeQuery = this.entityManager.createNativeQuery(
+                "SELECT h.id, h.name, s.saves, s.saves_this_week, s.saves_last_week, s.match_appearances,"
+                        + " s.unique_viewers, s.refreshed_at"
+                        + " FROM hobbies h LEFT JOIN business_hobby_stats s ON s.hobby_id = h.id"
+                        + " WHERE h.creator = :creator ORDER BY h.id");
+        nativeQuery.setParameter("creator", creator);
+        List<HobbyStatsDto> stats = new ArrayList<>();
+        for (Object row : nativeQuery.getResultList()) {
+            Object[] columns = (Object[]) row;
+            HobbyStatsDto hobby = new HobbyStatsDto();
+            hobby.setHobbyId(((Number) columns[0]).longValue());
+            hobby.setName((String) columns[1]);
+            if (columns[7] != null) {
+                hobby.setSaves(((Number) columns[2]).longValue());
+                hobby.setSavesThisWeek(((Number) columns[3]).longValue());
+                hobby.setSavesLastWeek(((Number) columns[4]).longValue());
+                hobby.setMatchAppearances(((Number) columns[5]).longValue());
+                hobby.setUniqueViewers(((Number) columns[6]).longValue());
+                hobby.setRefreshedAt((Instant) columns[7]);
+            }
+            stats.add(hobby);
+        }
+        return stats;
+    }
+
+    private static void setId(PreparedStatement statement, int index, Long id) throws SQLException {
+        if (id == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, id);
+        }
+    }
+
+    private List<String> filterConditions(String alias, CategoryNameEnum category, LocationEnum location,
+                                          BigDecimal minPrice, BigDecimal maxPrice) {
+        // Scalar sub-selects resolve to a single id up front so the hobbies indexes stay usable.
+        List<String> conditions = new ArrayList<>();
+        if (location != null) {
+            conditions.add(alias + ".location_id = (SELECT id FROM locations WHERE name = :location)");
+        }
+        if (category != null) {
+            conditions.add(alias + ".category_id = (SELECT id FROM categories WHERE name = :category)");
+        }
+        if (minPrice != null) {
+            conditions.add(alias + ".price >= :minPrice");
+        }
+        if (maxPrice != null) {
+            conditions.add(alias + ".price <= :maxPrice");
+        }
+        return conditions;
+    }
+
+    private void appendWhere(StringBuilder sql, List<String> conditions) {
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    private void bindFilters(Query query, CategoryNameEnum category, LocationEnum location,
+                             BigDecimal minPrice, BigDecimal maxPrice) {
+        if (location != null) {
+            query.setParameter("location", location.name());
+        }
+        if (category != null) {
+            query.setParameter("category", category.name());
+        }
+        if (minPrice != null) {
+            query.setParameter("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            query.setParameter("maxPrice", maxPrice);
+        }
+    }
+
+    private HobbySummaryDto toSummary(Object[] columns) {
+        HobbySummaryDto summary = new HobbySummaryDto();
+        summary.setId(((Number) columns[0]).longValue());
+        summary.setName((String) columns[1]);
+        summary.setSlogan((String) columns[2]);
+        summary.setPrice((BigDecimal) columns[3]);
+        summary.setCreator((String) columns[4]);
+        summary.setProfileImgUrl((String) columns[5]);
+        if (columns[6] != null) {
+            summary.setCategory(CategoryNameEnum.valueOf((String) columns[6]));
+        }
+        if (columns[7] != null) {
+            summary.setLocation(LocationEnum.valueOf((String) columns[7]));
+        }
+        return summary;
+    }
+}
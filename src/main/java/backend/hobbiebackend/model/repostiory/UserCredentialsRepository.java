@@ -0,0 +1,36 @@
+package backend.hobbiebackend.model.repostiory;
+
+import backend.hobbiebackend.model.entities.UserCredentials;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Read-only on purpose: writes go through UserRepository and its subclass repositories
+@Transactional(readOnly = true)
+public interface UserCredentialsRepository extends Repository<UserCredentials, Long> {
+    Optional<UserCredentials> findByUsername(String username);
+
+    Optional<UserCredentials> findByEmail(String email);
+
+    // For the OAuth2 login that lost the race to create the account: read-write so it reads the primary,
+    // the replica may not have replayed the other login's insert yet
+    @Transactional
+    @Query("SELECT u FROM UserCredentials u WHERE u.email = :email")
+    Optional<UserCredentials> findCommittedByEmail(@Param("email") String email);
+
+    // Null when the base is free, otherwise the highest n among base, base1, base2, ... (base itself counts as 0).
+    // pattern is the base with LIKE wildcards escaped, followed by %.
+    // Read-write so it reads the primary: a lagging replica would hand every retry the name that just failed.
+    @Transactional
+    @Query(value = "SELECT CASE WHEN bool_or(username = :base) THEN"
+            + " max(CASE WHEN username = :base THEN 0 ELSE CAST(substr(username, length(:base) + 1) AS bigint) END)"
+            + " END FROM users"
+            + " WHERE username LIKE :pattern ESCAPE '\\'"
+            + " AND (username = :base OR (substr(username, length(:base) + 1) ~ '^[0-9]+$'"
+            + " AND length(username) <= length(:base) + 18))",
+            nativeQuery = true)
+    Long findHighestUsernameSuffix(@Param("base") String base, @Param("pattern") String pattern);
+}
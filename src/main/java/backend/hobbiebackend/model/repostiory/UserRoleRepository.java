@@ -1,13 +0,0 @@
-package backend.hobbiebackend.model.repostiory;
-
-import backend.hobbiebackend.model.entities.UserRoleEntity;
-import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-
-@Repository
-public interface UserRoleRepository extends JpaRepository<UserRoleEntity, Long> {
-    Optional<UserRoleEntity> findByRole(UserRoleEnum roleEnum);
-}
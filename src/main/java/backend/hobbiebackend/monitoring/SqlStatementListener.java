@@ -0,0 +1,51 @@
+package backend.hobbiebackend.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+public class SqlStatementListener implements QueryExecutionListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlStatementListener.class);
+
+    private final long slowQueryThresholdMillis;
+    private final double bindSampleRate;
+
+    public SqlStatementListener(long slowQueryThresholdMillis, double bindSampleRate) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        this.bindSampleRate = bindSampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.record(queryInfoList.size(), elapsed);
+        }
+        // Everything below is off the fast path: only statements over the threshold are formatted.
+        if (elapsed >= this.slowQueryThresholdMillis && LOGGER.isWarnEnabled()) {
+            String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            if (ThreadLocalRandom.current().nextDouble() < this.bindSampleRate) {
+                String binds = queryInfoList.stream()
+                        .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+                        .map(parameters -> parameters.stream()
+                                .map(parameter -> String.valueOf(parameter.getArgs()[1]))
+                                .collect(Collectors.joining(", ", "[", "]")))
+                        .collect(Collectors.joining(" "));
+                LOGGER.warn("Slow query ({} ms, success={}): {} binds={}", elapsed, execInfo.isSuccess(), sql, binds);
+            } else {
+                LOGGER.warn("Slow query ({} ms, success={}): {}", elapsed, execInfo.isSuccess(), sql);
+            }
+        }
+    }
+}
@@ -1,42 +1,34 @@
 package backend.hobbiebackend.security;
 
-import backend.hobbiebackend.model.entities.UserEntity;
-import backend.hobbiebackend.model.repostiory.UserRepository;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import backend.hobbiebackend.model.entities.UserCredentials;
+import backend.hobbiebackend.model.repostiory.UserCredentialsRepository;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Component
 public class HobbieUserDetailsService implements UserDetailsService {
-    private final UserRepository userRepository;
+    private final UserCredentialsRepository userCredentialsRepository;
 
-    public HobbieUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public HobbieUserDetailsService(UserCredentialsRepository userCredentialsRepository) {
+        this.userCredentialsRepository = userCredentialsRepository;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserEntity userEntity = userRepository.findByUsername(username).orElseThrow(
+        UserCredentials credentials = userCredentialsRepository.findByUsername(username).orElseThrow(
                 () -> new UsernameNotFoundException("User with username " + username + " was not found."));
 
-        return mapToUserDetails(userEntity);
+        return mapToUserDetails(credentials.getUsername(), credentials.getPassword(), credentials.getRolesMask());
     }
 
-    private UserDetails mapToUserDetails(UserEntity userEntity) {
-
-        List<GrantedAuthority> authorities = userEntity.getRoles().stream()
-                .map(ur -> new SimpleGrantedAuthority("ROLE_" + ur.getRole().name())).collect(Collectors.toList());
+    UserDetails mapToUserDetails(String username, String password, int rolesMask) {
         return new User(
-                userEntity.getUsername(),
-                userEntity.getPassword(),
-                authorities
+                username,
+                password,
+                RoleAuthorities.of(rolesMask)
         );
     }
 }
@@ -1,13 +1,10 @@
 package backend.hobbiebackend.security;
 
+import backend.hobbiebackend.handler.ConflictException;
 import backend.hobbiebackend.model.entities.AppClient;
-import backend.hobbiebackend.model.entities.UserEntity;
-import backend.hobbiebackend.model.entities.UserRoleEntity;
-import backend.hobbiebackend.model.entities.enums.GenderEnum;
-import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
-import backend.hobbiebackend.model.repostiory.AppClientRepository;
-import backend.hobbiebackend.model.repostiory.UserRepository;
-import backend.hobbiebackend.service.UserRoleService;
+import backend.hobbiebackend.model.entities.UserCredentials;
+import backend.hobbiebackend.model.repostiory.UserCredentialsRepository;
+import backend.hobbiebackend.service.UserService;
 import backend.hobbiebackend.utility.JWTUtility;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,31 +12,22 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Component
 public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
     @Autowired
-    private UserRepository userRepository;
+    private UserCredentialsRepository userCredentialsRepository;
 
     @Autowired
-    private AppClientRepository appClientRepository;
-
-    @Autowired
-    private UserRoleService userRoleService;
-
-    @Autowired
-    private PasswordEncoder passwordEncoder;
+    private UserService userService;
 
     @Autowired
     private JWTUtility jwtUtility;
@@ -59,47 +47,39 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
         String name = (String) attributes.get("name");
 
         // Check if user already exists
-        Optional<UserEntity> existingUser = userRepository.findByEmail(email);
+        Optional<UserCredentials> existingUser = userCredentialsRepository.findByEmail(email);
 
-        UserEntity user;
+        UserDetails userDetails;
         if (existingUser.isEmpty()) {
-            // Create new user
-            AppClient newUser = new AppClient();
-            newUser.setEmail(email);
-            newUser.setFullName(name);
-            newUser.setUsername(generateUsername(email));
-            newUser.setPassword(passwordEncoder.encode(UUID.randomUUID().toString())); // Random password
-            newUser.setGender(GenderEnum.OTHER);
-
-            UserRoleEntity userRole = userRoleService.getUserRoleByEnumName(UserRoleEnum.USER);
-            newUser.setRoles(List.of(userRole));
-
-            user = appClientRepository.save(newUser);
+            userDetails = registerNewUser(email, name);
         } else {
-            user = existingUser.get();
+            UserCredentials credentials = existingUser.get();
+            userDetails = userDetailsService.mapToUserDetails(
+                    credentials.getUsername(), credentials.getPassword(), credentials.getRolesMask());
         }
 
         // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
         String token = jwtUtility.generateToken(userDetails);
 
         // Redirect to frontend with token
         String redirectUrl = String.format("http://localhost:4200/oauth2/redirect?token=%s&username=%s&role=USER",
-                token, user.getUsername());
+                token, userDetails.getUsername());
 
         getRedirectStrategy().sendRedirect(request, response, redirectUrl);
     }
 
-    private String generateUsername(String email) {
-        String baseUsername = email.split("@")[0];
-        String username = baseUsername;
-        int counter = 1;
-
-        while (userRepository.findByUsername(username).isPresent()) {
-            username = baseUsername + counter;
-            counter++;
+    private UserDetails registerNewUser(String email, String name) {
+        try {
+            AppClient user = userService.registerOAuthClient(email, name);
+            return userDetailsService.mapToUserDetails(user.getUsername(), user.getPassword(), user.getRolesMask());
+        } catch (ConflictException e) {
+            if (!"email".equals(e.getField())) {
+                throw e;
+            }
+            // The same user's other first login created the account a moment ago
+            UserCredentials credentials = userCredentialsRepository.findCommittedByEmail(email).orElseThrow(() -> e);
+            return userDetailsService.mapToUserDetails(
+                    credentials.getUsername(), credentials.getPassword(), credentials.getRolesMask());
         }
-
-        return username;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package backend.hobbiebackend.security;
+
+import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Granted authorities for every possible users.roles_mask value, built once so authenticating a request maps the
+ * stored mask to its authorities with an array lookup instead of building "ROLE_" strings per role.
+ */
+public final class RoleAuthorities {
+    private static final List<GrantedAuthority> NONE = List.of();
+    private static final List<GrantedAuthority>[] BY_MASK = precompute();
+
+    private RoleAuthorities() {
+    }
+
+    public static List<GrantedAuthority> of(int rolesMask) {
+        if (rolesMask < 0 || rolesMask >= BY_MASK.length) {
+            return NONE;
+        }
+        return BY_MASK[rolesMask];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<GrantedAuthority>[] precompute() {
+        UserRoleEnum[] roles = UserRoleEnum.values();
+        GrantedAuthority[] authorities = new GrantedAuthority[roles.length];
+        int allRoles = 0;
+        for (int i = 0; i < roles.length; i++) {
+            authorities[i] = new SimpleGrantedAuthority("ROLE_" + roles[i].name());
+            allRoles |= roles[i].getMask();
+        }
+
+        List<GrantedAuthority>[] byMask = new List[allRoles + 1];
+        for (int mask = 0; mask <= allRoles; mask++) {
+            List<GrantedAuthority> granted = new ArrayList<>(roles.length);
+            for (int i = 0; i < roles.length; i++) {
+                if ((mask & roles[i].getMask()) != 0) {
+                    granted.add(authorities[i]);
+                }
+            }
+            byMask[mask] = List.copyOf(granted);
+        }
+        return byMask;
+    }
+}
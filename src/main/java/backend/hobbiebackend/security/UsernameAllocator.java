@@ -0,0 +1,31 @@
+package backend.hobbiebackend.security;
+
+import backend.hobbiebackend.model.repostiory.UserCredentialsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks a username for a first-time OAuth2 login: the email's local part, or that name followed by the next
+ * number after the highest one taken ({@code anna}, {@code anna1}, {@code anna2}, ...). Numbers freed by
+ * deleted users are not reused. The lookup is a single prefix query however many names are taken; two
+ * concurrent logins can still get the same name, which the unique constraint rejects for the caller to retry.
+ */
+@Component
+public class UsernameAllocator {
+    private final UserCredentialsRepository userCredentialsRepository;
+
+    @Autowired
+    public UsernameAllocator(UserCredentialsRepository userCredentialsRepository) {
+        this.userCredentialsRepository = userCredentialsRepository;
+    }
+
+    public String allocate(String email) {
+        String base = email.split("@")[0];
+        Long highest = this.userCredentialsRepository.findHighestUsernameSuffix(base, likePrefix(base));
+        return highest == null ? base : base + (highest + 1);
+    }
+
+    static String likePrefix(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
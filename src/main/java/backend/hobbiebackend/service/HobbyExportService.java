@@ -0,0 +1,10 @@
+package backend.hobbiebackend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface HobbyExportService {
+    long exportOffers(String username, OutputStream out) throws IOException;
+
+    long exportSavedHobbies(String username, OutputStream out) throws IOException;
+}
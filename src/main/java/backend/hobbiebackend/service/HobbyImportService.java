@@ -0,0 +1,12 @@
+package backend.hobbiebackend.service;
+
+import backend.hobbiebackend.model.dto.HobbyImportResultDto;
+import backend.hobbiebackend.model.entities.enums.HobbyImportFormatEnum;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface HobbyImportService {
+    HobbyImportResultDto importHobbies(InputStream body, HobbyImportFormatEnum format, String username)
+            throws IOException;
+}
@@ -1,15 +1,28 @@
 package backend.hobbiebackend.service;
 
+import backend.hobbiebackend.model.dto.HobbyPageDto;
+import backend.hobbiebackend.model.dto.HobbySaveCountDto;
+import backend.hobbiebackend.model.dto.HobbyStatsDto;
+import backend.hobbiebackend.model.dto.HobbySummaryDto;
+import backend.hobbiebackend.model.dto.HobbyVersionDto;
 import backend.hobbiebackend.model.entities.AppClient;
 import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.HobbySortEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Set;
 
 public interface HobbyService {
     Hobby findHobbieById(Long id);
 
+    Hobby findHobbyDetails(Long id);
+
+    HobbyVersionDto findHobbyVersion(Long id);
+
     void saveUpdatedHobby(Hobby hobby) throws Exception;
 
     boolean deleteHobby(long id) throws Exception;
@@ -24,9 +37,22 @@ public interface HobbyService {
 
     List<Hobby> findSavedHobbies(AppClient appClient);
 
-    Set<Hobby> getAllHobbiesForBusiness(String username);
+    List<HobbySummaryDto> findRelatedHobbies(Long id, int limit);
+
+    List<HobbySummaryDto> findTrendingHobbies(LocationEnum location, int limit);
+
+    HobbySaveCountDto findSaveCount(Long id);
+
+    List<HobbyStatsDto> findBusinessDashboard(String username);
+
+    List<Hobby> getAllHobbiesForBusiness(String username);
     
-    Set<Hobby> getAllHobbieMatchesForClient(String username);
+    List<Hobby> getAllHobbieMatchesForClient(String username);
 
     void createHobby(Hobby offer);
+
+    HobbyPageDto searchHobbies(String query, CategoryNameEnum category, LocationEnum location, String cursor, int size);
+
+    HobbyPageDto browseHobbies(CategoryNameEnum category, LocationEnum location, BigDecimal minPrice, BigDecimal maxPrice,
+                               HobbySortEnum sort, String cursor, int size);
 }
@@ -0,0 +1,13 @@
+package backend.hobbiebackend.service;
+
+import backend.hobbiebackend.model.dto.MatchJobDto;
+
+import java.util.Optional;
+
+public interface MatchJobService {
+    boolean isSaturated();
+
+    MatchJobDto submit(String username);
+
+    Optional<MatchJobDto> findJob(String id, String username);
+}
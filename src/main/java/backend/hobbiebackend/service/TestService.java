@@ -5,4 +5,5 @@ import backend.hobbiebackend.model.entities.Test;
 public interface TestService {
     void saveTestResults(Test results);
 
+    int refreshMatches(String username);
 }
@@ -5,6 +5,7 @@ import backend.hobbiebackend.model.dto.BusinessRegisterDto;
 import backend.hobbiebackend.model.entities.AppClient;
 import backend.hobbiebackend.model.entities.BusinessOwner;
 import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.UserCredentials;
 import backend.hobbiebackend.model.entities.UserEntity;
 
 import java.util.List;
@@ -12,10 +13,14 @@ import java.util.List;
 public interface UserService {
     List<UserEntity> seedUsersAndUserRoles();
 
+    // Throws ConflictException naming the field when the username, email or business name is taken
     AppClient register(AppClientSignUpDto user);
 
     BusinessOwner registerBusiness(BusinessRegisterDto business);
 
+    // First OAuth2 login; throws ConflictException on "email" when a concurrent login created the user first
+    AppClient registerOAuthClient(String email, String fullName);
+
     BusinessOwner saveUpdatedUser(BusinessOwner businessOwner);
 
     AppClient saveUpdatedUserClient(AppClient appClient);
@@ -30,7 +35,7 @@ public interface UserService {
 
     UserEntity findUserByUsername(String username);
 
-    boolean userExists(String username, String email);
+    UserCredentials findCredentialsByUsername(String username);
 
     void saveUserWithUpdatedPassword(UserEntity userEntity);
 
@@ -43,6 +48,10 @@ public interface UserService {
     AppClient findAppClientByUsername(String username);
 
     BusinessOwner findBusinessByUsername(String username);
+
+    AppClient findAppClientProfile(String username);
+
+    BusinessOwner findBusinessProfile(String username);
 }
 
 
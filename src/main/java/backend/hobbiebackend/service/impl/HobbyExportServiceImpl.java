@@ -0,0 +1,70 @@
+package backend.hobbiebackend.service.impl;
+
+import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import backend.hobbiebackend.service.HobbyExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Hobby exports as NDJSON, one hobby per line in the same shape as the detail endpoint. Rows come from a
+ * database cursor and each hobby is detached once written, so memory does not grow with the export size.
+ * The read transaction stays open while the client downloads.
+ */
+@Service
+@Transactional(readOnly = true)
+@Timed("hobbie.service")
+public class HobbyExportServiceImpl implements HobbyExportService {
+    private final HobbyRepository hobbyRepository;
+    private final ObjectWriter writer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public HobbyExportServiceImpl(HobbyRepository hobbyRepository, ObjectMapper objectMapper) {
+        this.hobbyRepository = hobbyRepository;
+        // The servlet stream buffers on its own; flushing after every row would send tiny chunks
+        this.writer = objectMapper.writerFor(Hobby.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public long exportOffers(String username, OutputStream out) throws IOException {
+        return writeNdjson(this.hobbyRepository.streamAllByCreator(username), out);
+    }
+
+    @Override
+    public long exportSavedHobbies(String username, OutputStream out) throws IOException {
+        return writeNdjson(this.hobbyRepository.streamSavedByClientUsername(username), out);
+    }
+
+    private long writeNdjson(Stream<Hobby> hobbies, OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<Hobby> rows = hobbies;
+             JsonGenerator generator = this.writer.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<Hobby> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Hobby hobby = iterator.next();
+                this.writer.writeValue(generator, hobby);
+                generator.writeRaw('\n');
+                this.entityManager.detach(hobby);
+                written++;
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,265 @@
+package backend.hobbiebackend.service.impl;
+
+import backend.hobbiebackend.catalog.HobbyCatalog;
+import backend.hobbiebackend.model.dto.HobbyImportDto;
+import backend.hobbiebackend.model.dto.HobbyImportErrorDto;
+import backend.hobbiebackend.model.dto.HobbyImportResultDto;
+import backend.hobbiebackend.model.entities.BusinessOwner;
+import backend.hobbiebackend.model.entities.Category;
+import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.Location;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.HobbyImportFormatEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import backend.hobbiebackend.service.CategoryService;
+import backend.hobbiebackend.service.HobbyImportService;
+import backend.hobbiebackend.service.LocationService;
+import backend.hobbiebackend.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk hobby import from CSV (with a header row) or NDJSON, read row by row so memory stays bounded by one
+ * batch. Each batch draws its ids from the hobbies sequence in one query and is inserted as a JDBC batch in its
+ * own transaction, so a failed batch does not undo the ones before it. Invalid rows are skipped and reported.
+ */
+@Service
+@Timed("hobbie.service")
+public class HobbyImportServiceImpl implements HobbyImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HobbyImportServiceImpl.class);
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final HobbyRepository hobbyRepository;
+    private final UserService userService;
+    private final CategoryService categoryService;
+    private final LocationService locationService;
+    private final HobbyCatalog hobbyCatalog;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final TransactionTemplate transactionTemplate;
+    private final Counter importedRows;
+    private final Counter failedRows;
+    private final int batchSize;
+
+    @Autowired
+    public HobbyImportServiceImpl(HobbyRepository hobbyRepository,
+                                  UserService userService,
+                                  CategoryService categoryService,
+                                  LocationService locationService,
+                                  HobbyCatalog hobbyCatalog,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${hobby.import.batch-size:500}") int batchSize) {
+        this.hobbyRepository = hobbyRepository;
+        this.userService = userService;
+        this.categoryService = categoryService;
+        this.locationService = locationService;
+        this.hobbyCatalog = hobbyCatalog;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importedRows = Counter.builder("hobbie.import.rows").tag("result", "imported").register(meterRegistry);
+        this.failedRows = Counter.builder("hobbie.import.rows").tag("result", "failed").register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public HobbyImportResultDto importHobbies(InputStream body, HobbyImportFormatEnum format, String username)
+            throws IOException {
+        long started = System.nanoTime();
+        BusinessOwner business = this.userService.findBusinessByUsername(username);
+        Map<CategoryNameEnum, Category> categories = new EnumMap<>(CategoryNameEnum.class);
+        Map<LocationEnum, Location> locations = new EnumMap<>(LocationEnum.class);
+        HobbyImportResultDto result = new HobbyImportResultDto();
+        List<Hobby> batch = new ArrayList<>(this.batchSize);
+        long firstRowOfBatch = 1;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            RowReader rows = format == HobbyImportFormatEnum.CSV ? csvRows(reader) : ndjsonRows(reader);
+            long row = 0;
+            while (true) {
+                JsonNode node;
+                try {
+                    node = rows.next();
+                } catch (JsonProcessingException e) {
+                    row++;
+                    reportError(result, row, firstLine(e.getOriginalMessage()));
+                    if (format == HobbyImportFormatEnum.CSV) {
+                        // The CSV parser cannot resynchronise after a malformed record
+                        break;
+                    }
+                    continue;
+                }
+                if (node == null) {
+                    break;
+                }
+                row++;
+                try {
+                    HobbyImportDto dto = this.objectMapper.treeToValue(node, HobbyImportDto.class);
+                    batch.add(toHobby(dto, username, categories, locations));
+                } catch (JsonProcessingException e) {
+                    reportError(result, row, firstLine(e.getOriginalMessage()));
+                } catch (IllegalArgumentException e) {
+                    reportError(result, row, e.getMessage());
+                }
+                if (batch.size() == this.batchSize) {
+                    flush(batch, business.getId(), firstRowOfBatch, row, result);
+                    firstRowOfBatch = row + 1;
+                }
+            }
+            flush(batch, business.getId(), firstRowOfBatch, row, result);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.getImported() * 1e9 / elapsedNanos);
+        LOGGER.info("Imported {} hobbies for {} ({} rows failed) in {} ms", result.getImported(), username,
+                result.getFailed(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void flush(List<Hobby> batch, Long businessOwnerId, long firstRow, long lastRow,
+                       HobbyImportResultDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = this.hobbyRepository.allocateHobbyIds(batch.size());
+                Instant now = Instant.now();
+                for (int i = 0; i < batch.size(); i++) {
+                    Hobby hobby = batch.get(i);
+                    hobby.setId(ids.get(i));
+                    hobby.setVersion(0L);
+                    hobby.setModifiedAt(now);
+                }
+                this.hobbyRepository.insertHobbies(batch, businessOwnerId);
+                this.hobbyCatalog.putAllAfterCommit(batch);
+            });
+            result.setImported(result.getImported() + batch.size());
+            this.importedRows.increment(batch.size());
+        } catch (DataAccessException e) {
+            LOGGER.warn("Import batch of rows {}-{} failed", firstRow, lastRow, e);
+            result.setFailed(result.getFailed() + batch.size());
+            this.failedRows.increment(batch.size());
+            addError(result, firstRow, "Batch of rows " + firstRow + "-" + lastRow + " was not imported: "
+                    + firstLine(e.getMostSpecificCause().getMessage()));
+        }
+        batch.clear();
+    }
+
+    private Hobby toHobby(HobbyImportDto dto, String username,
+                          Map<CategoryNameEnum, Category> categories, Map<LocationEnum, Location> locations) {
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (dto.getPrice() == null || dto.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("price is required and must not be negative");
+        }
+        if (dto.getCategory() == null) {
+            throw new IllegalArgumentException("category is required");
+        }
+        if (dto.getLocation() == null) {
+            throw new IllegalArgumentException("location is required");
+        }
+        Hobby hobby = new Hobby();
+        hobby.setName(dto.getName());
+        hobby.setSlogan(dto.getSlogan());
+        hobby.setIntro(dto.getIntro());
+        hobby.setDescription(dto.getDescription());
+        hobby.setPrice(dto.getPrice());
+        hobby.setContactInfo(dto.getContactInfo());
+        hobby.setCreator(username);
+        hobby.setCategory(categories.computeIfAbsent(dto.getCategory(), this.categoryService::findByName));
+        hobby.setLocation(locations.computeIfAbsent(dto.getLocation(), this.locationService::getLocationByName));
+        return hobby;
+    }
+
+    private void reportError(HobbyImportResultDto result, long row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        this.failedRows.increment();
+        addError(result, row, message);
+    }
+
+    private static void addError(HobbyImportResultDto result, long row, String message) {
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new HobbyImportErrorDto(row, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "invalid row";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    private RowReader csvRows(BufferedReader reader) throws IOException {
+        // Every column arrives as text; the DTO conversion parses prices and enum names
+        MappingIterator<Map<String, String>> records = this.csvMapper
+                .readerFor(Map.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(reader);
+        return () -> {
+            try {
+                return records.hasNextValue() ? this.objectMapper.valueToTree(blankToNull(records.nextValue())) : null;
+            } catch (RuntimeException e) {
+                if (e.getCause() instanceof JsonProcessingException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        };
+    }
+
+    private RowReader ndjsonRows(BufferedReader reader) {
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            return line == null ? null : this.objectMapper.readTree(line);
+        };
+    }
+
+    private static Map<String, String> blankToNull(Map<String, String> record) {
+        record.replaceAll((column, value) -> value == null || value.isBlank() ? null : value);
+        return record;
+    }
+
+    // Next row as a JSON tree, or null at the end of the input
+    private interface RowReader {
+        JsonNode next() throws IOException;
+    }
+}
@@ -1,8 +1,21 @@
 package backend.hobbiebackend.service.impl;
 
+import backend.hobbiebackend.catalog.HobbyCatalog;
+import backend.hobbiebackend.catalog.HobbyCatalogEntry;
+import backend.hobbiebackend.catalog.HobbyCoOccurrence;
+import backend.hobbiebackend.catalog.HobbyJsonCache;
+import backend.hobbiebackend.catalog.HobbySaveCounters;
+import backend.hobbiebackend.catalog.RelatedHobbies;
 import backend.hobbiebackend.handler.NotFoundException;
+import backend.hobbiebackend.model.dto.HobbyPageDto;
+import backend.hobbiebackend.model.dto.HobbySaveCountDto;
+import backend.hobbiebackend.model.dto.HobbyStatsDto;
+import backend.hobbiebackend.model.dto.HobbySummaryDto;
+import backend.hobbiebackend.model.dto.HobbyVersionDto;
+import backend.hobbiebackend.model.dto.TrendingHobbyDto;
 import backend.hobbiebackend.model.entities.*;
 import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.HobbySortEnum;
 import backend.hobbiebackend.model.entities.enums.LocationEnum;
 import backend.hobbiebackend.model.repostiory.HobbyRepository;
 import backend.hobbiebackend.service.CategoryService;
@@ -10,35 +23,62 @@ import backend.hobbiebackend.service.FileStorageService;
 import backend.hobbiebackend.service.HobbyService;
 import backend.hobbiebackend.service.LocationService;
 import backend.hobbiebackend.service.UserService;
+import backend.hobbiebackend.utility.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.*;
 
 @Service
 @Transactional
+@Timed("hobbie.service")
 public class HobbyServiceImpl implements HobbyService {
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_COUNTED_MATCHES = 1000;
+    private static final int MAX_RELATED = 50;
+
     private final HobbyRepository hobbyRepository;
     private final CategoryService categoryService;
     private final UserService userService;
     private final LocationService locationService;
     private final S3FileStorageServiceImpl s3FileStorageService;
+    private final MeterRegistry meterRegistry;
+    private final HobbyCatalog hobbyCatalog;
+    private final HobbyJsonCache hobbyJsonCache;
+    private final HobbyCoOccurrence hobbyCoOccurrence;
+    private final HobbySaveCounters hobbySaveCounters;
     @Autowired
     public HobbyServiceImpl(HobbyRepository hobbyRepository,
                             CategoryService categoryService,
                             UserService userService,
                             LocationService locationService,
-                            S3FileStorageServiceImpl s3FileStorageService) {
+                            S3FileStorageServiceImpl s3FileStorageService,
+                            MeterRegistry meterRegistry,
+                            HobbyCatalog hobbyCatalog,
+                            HobbyJsonCache hobbyJsonCache,
+                            HobbyCoOccurrence hobbyCoOccurrence,
+                            HobbySaveCounters hobbySaveCounters) {
         this.hobbyRepository = hobbyRepository;
         this.categoryService = categoryService;
         this.userService = userService;
         this.locationService = locationService;
         this.s3FileStorageService = s3FileStorageService;
+        this.meterRegistry = meterRegistry;
+        this.hobbyCatalog = hobbyCatalog;
+        this.hobbyJsonCache = hobbyJsonCache;
+        this.hobbyCoOccurrence = hobbyCoOccurrence;
+        this.hobbySaveCounters = hobbySaveCounters;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Hobby findHobbieById(Long id) {
         Optional<Hobby> hobby = this.hobbyRepository.findById(id);
         if (hobby.isPresent()) {
@@ -48,9 +88,34 @@ public class HobbyServiceImpl implements HobbyService {
         }
     }
 
+    // Catalog reads need no connection; a miss falls back to the repository's own transaction
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Hobby findHobbyDetails(Long id) {
+        return this.hobbyCatalog.find(id)
+                .map(HobbyCatalogEntry::toHobby)
+                .orElseGet(() -> findHobbieById(id));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public HobbyVersionDto findHobbyVersion(Long id) {
+        Optional<HobbyCatalogEntry> entry = this.hobbyCatalog.find(id);
+        if (entry.isPresent()) {
+            return new HobbyVersionDto(entry.get().getVersion(), entry.get().getModifiedAt());
+        }
+        return this.hobbyRepository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("This hobby does not exist"));
+    }
+
     @Override
     public void saveUpdatedHobby(Hobby hobby) throws Exception {
-        this.hobbyRepository.save(hobby);
+        Hobby saved = this.hobbyRepository.saveAndFlush(hobby);
+        this.hobbyCatalog.putAfterCommit(saved);
+        this.hobbyJsonCache.invalidate(saved.getId());
+        // Callers keep their own (possibly detached) copy, hand the new validators back to it
+        hobby.setVersion(saved.getVersion());
+        hobby.setModifiedAt(saved.getModifiedAt());
     }
 
     @Override
@@ -74,12 +139,16 @@ public class HobbyServiceImpl implements HobbyService {
             business.getHobby_offers().remove(hobby);
             this.userService.findAndRemoveHobbyFromClientsRecords(hobby);
             this.hobbyRepository.deleteById(id);
+            this.hobbyCatalog.removeAfterCommit(id);
+            this.hobbyJsonCache.invalidate(id);
+            this.hobbyCoOccurrence.removeAfterCommit(id);
             return true;
         }
         return false;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Set<Hobby> findHobbyMatches(String username) {
         AppClient currentUserAppClient = this.userService.findAppClientByUsername(username);
         Set<Hobby> hobby_matches = new HashSet<>();
@@ -87,8 +156,7 @@ public class HobbyServiceImpl implements HobbyService {
             boolean isAdded = false;
             Random rand = new Random();
             LocationEnum location = currentUserAppClient.getTestResults().getLocation();
-            Location locationByName = this.locationService.getLocationByName(location);
-            List<Hobby> allByLocation = this.hobbyRepository.findAllByLocation(locationByName);
+            List<HobbyCatalogEntry> allByLocation = findCandidates(location);
             List<CategoryNameEnum> testCategoryResults = new ArrayList<>();
 
             testCategoryResults.add(currentUserAppClient.getTestResults().getCategoryOne());
@@ -98,16 +166,19 @@ public class HobbyServiceImpl implements HobbyService {
             testCategoryResults.add(currentUserAppClient.getTestResults().getCategoryFive());
             testCategoryResults.add(currentUserAppClient.getTestResults().getCategorySix());
 
+            Set<Long> matchedIds = new HashSet<>();
             if (allByLocation.size() > 0) {
                 for (int i = 0; i < 10; i++) {
                     int randomIndex = rand.nextInt(allByLocation.size());
-                    Hobby randomHobby = allByLocation.get(randomIndex);
-                    if (hobby_matches.contains(randomHobby)) {
+                    HobbyCatalogEntry randomHobby = allByLocation.get(randomIndex);
+                    if (matchedIds.contains(randomHobby.getId())) {
                         continue;
                     }
                     for (CategoryNameEnum testCategory : testCategoryResults) {
-                        if (randomHobby.getCategory().getName().equals(testCategory)) {
-                            hobby_matches.add(randomHobby);
+                        if (testCategory.equals(randomHobby.getCategory())) {
+                            matchedIds.add(randomHobby.getId());
+                            // Only the association is written, so a reference is enough
+                            hobby_matches.add(this.hobbyRepository.getReferenceById(randomHobby.getId()));
                             isAdded = true;
                         }
                         if (isAdded) {
@@ -117,6 +188,7 @@ public class HobbyServiceImpl implements HobbyService {
                     }
                 }
             }
+            recordMatcherCounts(location, allByLocation.size(), hobby_matches.size());
         }
         return hobby_matches;
     }
@@ -127,6 +199,8 @@ public class HobbyServiceImpl implements HobbyService {
         Optional<Hobby> hobbyById = this.hobbyRepository.findById(hobby.getId());
         List<Hobby> saved_hobbies = currentUserAppClient.getSaved_hobbies();
         if (hobbyById.isPresent() && !(saved_hobbies.contains(hobbyById.get()))) {
+            this.hobbyCoOccurrence.savedAfterCommit(hobby.getId(), savedIds(saved_hobbies));
+            this.hobbySaveCounters.recordAfterCommit(hobby.getId(), 1);
             saved_hobbies.add(hobbyById.get());
             return true;
         }
@@ -138,40 +212,244 @@ public class HobbyServiceImpl implements HobbyService {
         AppClient currentUserAppClient = this.userService.findAppClientByUsername(username);
         Optional<Hobby> hobbyById = this.hobbyRepository.findById(hobby.getId());
         if (currentUserAppClient != null) {
-            hobbyById.ifPresent(value -> currentUserAppClient.getSaved_hobbies().remove(value));
+            List<Hobby> saved_hobbies = currentUserAppClient.getSaved_hobbies();
+            if (hobbyById.isPresent() && saved_hobbies.remove(hobbyById.get())) {
+                this.hobbyCoOccurrence.unsavedAfterCommit(hobby.getId(), savedIds(saved_hobbies));
+                this.hobbySaveCounters.recordAfterCommit(hobby.getId(), -1);
+            }
             return true;
         }
         return false;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isHobbySaved(Long hobbyId, String username) {
-        Optional<Hobby> byId = this.hobbyRepository.findById(hobbyId);
-        if (byId.isPresent()) {
-            AppClient currentUserAppClient = this.userService.findAppClientByUsername(username);
-            return currentUserAppClient.getSaved_hobbies().contains(byId.get());
+        return this.hobbyRepository.isSavedByClient(hobbyId, username);
+    }
+
+    // Rankings come from memory; summaries from the catalog, or one query while it is not loaded
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<HobbySummaryDto> findRelatedHobbies(Long id, int limit) {
+        requireHobby(id);
+        RelatedHobbies related = this.hobbyCoOccurrence.findRelated(id);
+        List<Long> ids = new ArrayList<>(related.size());
+        List<Long> sharedSaves = new ArrayList<>(related.size());
+        for (int i = 0; i < related.size(); i++) {
+            ids.add(related.idAt(i));
+            sharedSaves.add((long) related.countAt(i));
         }
-        return false;
+        return toSummaries(ids, sharedSaves, Math.max(1, Math.min(limit, MAX_RELATED)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<HobbySummaryDto> findTrendingHobbies(LocationEnum location, int limit) {
+        List<TrendingHobbyDto> trending = this.hobbySaveCounters.trending(location);
+        List<Long> ids = trending.stream().map(TrendingHobbyDto::getHobbyId).toList();
+        List<Long> saves = trending.stream().map(TrendingHobbyDto::getSaves).toList();
+        return toSummaries(ids, saves, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public HobbySaveCountDto findSaveCount(Long id) {
+        requireHobby(id);
+        return new HobbySaveCountDto(id, this.hobbySaveCounters.totalSaves(id), this.hobbySaveCounters.savesThisWeek(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HobbyStatsDto> findBusinessDashboard(String username) {
+        return this.hobbyRepository.findBusinessStats(username);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Hobby> findSavedHobbies(AppClient currentAppClient) {
-        return currentAppClient.getSaved_hobbies();
+        return this.hobbyRepository.findSavedByClientId(currentAppClient.getId());
     }
 
     @Override
-    public Set<Hobby> getAllHobbiesForBusiness(String username) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Hobby> getAllHobbiesForBusiness(String username) {
+        if (this.hobbyCatalog.isReady()) {
+            return this.hobbyCatalog.findByCreator(username).stream()
+                    .map(HobbyCatalogEntry::toHobby)
+                    .toList();
+        }
         return this.hobbyRepository.findAllByCreator(username);
     }
 
     @Override
-    public Set<Hobby> getAllHobbieMatchesForClient(String username) {
-        AppClient currentUserAppClient = this.userService.findAppClientByUsername(username);
-        return currentUserAppClient.getHobby_matches();
+    @Transactional(readOnly = true)
+    public List<Hobby> getAllHobbieMatchesForClient(String username) {
+        return this.hobbyRepository.findMatchesByClientUsername(username);
     }
 
     @Override
     public void createHobby(Hobby offer) {
         this.hobbyRepository.save(offer);
+        this.hobbyCatalog.putAfterCommit(offer);
+        BusinessOwner business = this.userService.findBusinessByUsername(offer.getCreator());
+        business.getHobby_offers().add(offer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HobbyPageDto searchHobbies(String query, CategoryNameEnum category, LocationEnum location, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Float afterRelevance = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = KeysetCursor.decode(cursor, 2);
+            try {
+                afterRelevance = Float.valueOf(parts[0]);
+                afterId = Long.valueOf(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        List<HobbySummaryDto> hits = this.hobbyRepository.searchHobbies(
+                query.trim(), category, location, afterRelevance, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = new ArrayList<>(hits.subList(0, pageSize));
+            HobbySummaryDto last = hits.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getRelevance(), last.getId());
+        }
+        return new HobbyPageDto(hits, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HobbyPageDto browseHobbies(CategoryNameEnum category, LocationEnum location, BigDecimal minPrice, BigDecimal maxPrice,
+                                      HobbySortEnum sort, String cursor, int size) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        HobbySortEnum order = sort == null ? HobbySortEnum.NEWEST : sort;
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        BigDecimal afterPrice = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                if (order == HobbySortEnum.NEWEST) {
+                    afterId = Long.valueOf(KeysetCursor.decode(cursor, 1)[0]);
+                } else {
+                    String[] parts = KeysetCursor.decode(cursor, 2);
+                    afterPrice = new BigDecimal(parts[0]);
+                    afterId = Long.valueOf(parts[1]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        List<HobbySummaryDto> hobbies = this.hobbyRepository.browseHobbies(
+                category, location, minPrice, maxPrice, order, afterPrice, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (hobbies.size() > pageSize) {
+            hobbies = new ArrayList<>(hobbies.subList(0, pageSize));
+            HobbySummaryDto last = hobbies.get(pageSize - 1);
+            nextCursor = order == HobbySortEnum.NEWEST
+                    ? KeysetCursor.encode(last.getId())
+                    : KeysetCursor.encode(last.getPrice().toPlainString(), last.getId());
+        }
+        HobbyPageDto page = new HobbyPageDto(hobbies, nextCursor);
+
+        // Only the first page carries a count, and it stops at MAX_COUNTED_MATCHES.
+        if (cursor == null || cursor.isBlank()) {
+            long count = this.hobbyRepository.countHobbiesUpTo(
+                    category, location, minPrice, maxPrice, MAX_COUNTED_MATCHES + 1);
+            page.setMatchCount(Math.min(count, MAX_COUNTED_MATCHES));
+            page.setMatchCountCapped(count > MAX_COUNTED_MATCHES);
+        }
+        return page;
+    }
+
+    private void requireHobby(Long id) {
+        boolean exists = this.hobbyCatalog.isReady()
+                ? this.hobbyCatalog.find(id).isPresent()
+                : this.hobbyRepository.existsById(id);
+        if (!exists) {
+            throw new NotFoundException("This hobby does not exist");
+        }
+    }
+
+    // Ranked ids to summaries with the score as relevance; ids of hobbies that no longer exist are skipped
+    private List<HobbySummaryDto> toSummaries(List<Long> ids, List<Long> scores, int size) {
+        List<HobbySummaryDto> results = new ArrayList<>(Math.min(size, ids.size()));
+        if (this.hobbyCatalog.isReady()) {
+            for (int i = 0; i < ids.size() && results.size() < size; i++) {
+                Optional<HobbyCatalogEntry> entry = this.hobbyCatalog.find(ids.get(i));
+                if (entry.isPresent()) {
+                    results.add(toSummary(entry.get(), scores.get(i)));
+                }
+            }
+            return results;
+        }
+        List<Long> candidates = ids.subList(0, Math.min(size, ids.size()));
+        if (candidates.isEmpty()) {
+            return results;
+        }
+        Map<Long, Hobby> byId = new HashMap<>();
+        for (Hobby hobby : this.hobbyRepository.findAllWithDetailsByIdIn(candidates)) {
+            byId.put(hobby.getId(), hobby);
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            Hobby hobby = byId.get(candidates.get(i));
+            if (hobby != null) {
+                results.add(toSummary(HobbyCatalogEntry.from(hobby), scores.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private static List<Long> savedIds(List<Hobby> saved) {
+        return saved.stream().map(Hobby::getId).toList();
+    }
+
+    private static HobbySummaryDto toSummary(HobbyCatalogEntry entry, long score) {
+        HobbySummaryDto summary = new HobbySummaryDto();
+        summary.setId(entry.getId());
+        summary.setName(entry.getName());
+        summary.setSlogan(entry.getSlogan());
+        summary.setPrice(entry.getPrice());
+        summary.setCreator(entry.getCreator());
+        summary.setProfileImgUrl(entry.getProfileImgUrl());
+        summary.setCategory(entry.getCategory());
+        summary.setLocation(entry.getLocation());
+        summary.setRelevance((float) score);
+        return summary;
+    }
+
+    private List<HobbyCatalogEntry> findCandidates(LocationEnum location) {
+        if (this.hobbyCatalog.isReady()) {
+            return this.hobbyCatalog.findByLocation(location);
+        }
+        Location locationByName = this.locationService.getLocationByName(location);
+        return this.hobbyRepository.findAllByLocation(locationByName).stream()
+                .map(HobbyCatalogEntry::from)
+                .toList();
+    }
+
+    private void recordMatcherCounts(LocationEnum location, int candidates, int selected) {
+        String locationTag = location == null ? "none" : location.name();
+        DistributionSummary.builder("hobbie.matcher.candidates")
+                .description("Hobbies considered by the quiz matcher")
+                .tag("location", locationTag)
+                .register(this.meterRegistry)
+                .record(candidates);
+        DistributionSummary.builder("hobbie.matcher.selected")
+                .description("Hobbies selected by the quiz matcher")
+                .tag("location", locationTag)
+                .register(this.meterRegistry)
+                .record(selected);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package backend.hobbiebackend.service.impl;
+
+import backend.hobbiebackend.model.dto.MatchJobDto;
+import backend.hobbiebackend.model.entities.enums.MatchJobStatusEnum;
+import backend.hobbiebackend.service.MatchJobService;
+import backend.hobbiebackend.service.TestService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs quiz matching in the background on a fixed number of worker threads.
+ * <p>
+ * A job starts after the coalesce window; further submissions by the same user while it is still queued
+ * return the same job, which reads the newest answers when it runs. At most one job per user runs at a time,
+ * a job that finds another one running for its user waits another window. Jobs are kept in memory on the
+ * instance that accepted them for the retention period after their last change.
+ */
+@Service
+public class MatchJobServiceImpl implements MatchJobService, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatchJobServiceImpl.class);
+
+    private final TestService testService;
+    private final int maxQueued;
+    private final long coalesceWindowMillis;
+    private final ScheduledThreadPoolExecutor workers;
+    private final Cache<String, MatchJob> jobs;
+    private final Map<String, MatchJob> queuedByUser = new ConcurrentHashMap<>();
+    private final Set<String> runningUsers = ConcurrentHashMap.newKeySet();
+    private final Counter coalesced;
+    private final Counter done;
+    private final Counter failed;
+
+    @Autowired
+    public MatchJobServiceImpl(TestService testService, MeterRegistry meterRegistry,
+                               @Value("${match.jobs.workers:2}") int workers,
+                               @Value("${match.jobs.max-queued:1000}") int maxQueued,
+                               @Value("${match.jobs.coalesce-window-ms:500}") long coalesceWindowMillis,
+                               @Value("${match.jobs.retention-minutes:10}") long retentionMinutes) {
+        this.testService = testService;
+        this.maxQueued = maxQueued;
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ScheduledThreadPoolExecutor(workers, runnable -> {
+            Thread thread = new Thread(runnable, "match-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(retentionMinutes))
+                .build();
+        this.coalesced = Counter.builder("hobbie.match.jobs").tag("result", "coalesced").register(meterRegistry);
+        this.done = Counter.builder("hobbie.match.jobs").tag("result", "done").register(meterRegistry);
+        this.failed = Counter.builder("hobbie.match.jobs").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("hobbie.match.jobs.queued", this.queuedByUser, Map::size)
+                .description("Match jobs waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isSaturated() {
+        return this.queuedByUser.size() >= this.maxQueued;
+    }
+
+    // Call after the answers are committed, so that the job reads them
+    @Override
+    public MatchJobDto submit(String username) {
+        MatchJob[] created = new MatchJob[1];
+        MatchJob job = this.queuedByUser.compute(username, (user, queued) -> {
+            if (queued != null) {
+                return queued;
+            }
+            created[0] = new MatchJob(UUID.randomUUID().toString(), user);
+            return created[0];
+        });
+        if (created[0] == null) {
+            this.coalesced.increment();
+        } else {
+            this.jobs.put(job.id, job);
+            schedule(job);
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public Optional<MatchJobDto> findJob(String id, String username) {
+        MatchJob job = this.jobs.getIfPresent(id);
+        if (job == null || !job.username.equals(username)) {
+            return Optional.empty();
+        }
+        return Optional.of(job.toDto());
+    }
+
+    private void schedule(MatchJob job) {
+        this.workers.schedule(() -> run(job), this.coalesceWindowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(MatchJob job) {
+        if (!this.runningUsers.add(job.username)) {
+            schedule(job);
+            return;
+        }
+        try {
+            // From here on, new submissions start a new job instead of joining this one
+            this.queuedByUser.remove(job.username, job);
+            job.status = MatchJobStatusEnum.RUNNING;
+            int matchCount = this.testService.refreshMatches(job.username);
+            job.matchCount = matchCount;
+            job.finish(MatchJobStatusEnum.DONE);
+            this.done.increment();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Match job {} for {} failed", job.id, job.username, e);
+            job.error = "Matching failed";
+            job.finish(MatchJobStatusEnum.FAILED);
+            this.failed.increment();
+        } finally {
+            this.runningUsers.remove(job.username);
+            // Restarts the retention period from completion
+            this.jobs.put(job.id, job);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.workers.shutdownNow();
+    }
+
+    private static final class MatchJob {
+        private final String id;
+        private final String username;
+        private final Instant submittedAt = Instant.now();
+        private volatile MatchJobStatusEnum status = MatchJobStatusEnum.QUEUED;
+        private volatile Instant completedAt;
+        private volatile Integer matchCount;
+        private volatile String error;
+
+        private MatchJob(String id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+
+        private void finish(MatchJobStatusEnum status) {
+            this.completedAt = Instant.now();
+            this.status = status;
+        }
+
+        private MatchJobDto toDto() {
+            MatchJobDto dto = new MatchJobDto();
+            dto.setId(this.id);
+            dto.setSubmittedAt(this.submittedAt);
+            // Status first: a reader that sees DONE also sees the count and completion time written before it
+            MatchJobStatusEnum current = this.status;
+            dto.setStatus(current);
+            dto.setCompletedAt(this.completedAt);
+            dto.setMatchCount(this.matchCount);
+            dto.setError(this.error);
+            return dto;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package backend.hobbiebackend.service.impl;
 
 import backend.hobbiebackend.model.entities.UserEntity;
 import backend.hobbiebackend.service.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -13,10 +15,12 @@ import java.util.Calendar;
 @Service
 public class NotificationServiceImpl implements NotificationService {
     private final JavaMailSender javaMailSender;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public NotificationServiceImpl(JavaMailSender javaMailSender) {
+    public NotificationServiceImpl(JavaMailSender javaMailSender, MeterRegistry meterRegistry) {
         this.javaMailSender = javaMailSender;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -28,6 +32,16 @@ public class NotificationServiceImpl implements NotificationService {
         mail.setSubject("Change your password");
         mail.setText("Click the link to reset your password: " + mailBody);
 
-        javaMailSender.send(mail);
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        String outcome = "error";
+        try {
+            javaMailSender.send(mail);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("hobbie.mail.send")
+                    .description("SMTP send latency")
+                    .tag("outcome", outcome)
+                    .register(this.meterRegistry));
+        }
     }
 }
@@ -1,6 +1,9 @@
 package backend.hobbiebackend.service.impl;
 
 import backend.hobbiebackend.service.FileStorageService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -18,6 +21,8 @@ import java.util.UUID;
 public class S3FileStorageServiceImpl implements FileStorageService {
 
     private final S3Client s3Client;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary uploadSize;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
@@ -25,8 +30,13 @@ public class S3FileStorageServiceImpl implements FileStorageService {
     @Value("${aws.s3.region}")
     private String region;
 
-    public S3FileStorageServiceImpl(S3Client s3Client) {
+    public S3FileStorageServiceImpl(S3Client s3Client, MeterRegistry meterRegistry) {
         this.s3Client = s3Client;
+        this.meterRegistry = meterRegistry;
+        this.uploadSize = DistributionSummary.builder("hobbie.storage.upload.size")
+                .description("Size of files uploaded to S3")
+                .baseUnit("bytes")
+                .register(meterRegistry);
     }
 
     @Override
@@ -43,8 +53,16 @@ public class S3FileStorageServiceImpl implements FileStorageService {
                 .contentType(file.getContentType())
                 .build();
 
-        s3Client.putObject(putObjectRequest,
-                RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        String outcome = "error";
+        try {
+            s3Client.putObject(putObjectRequest,
+                    RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            outcome = "success";
+        } finally {
+            sample.stop(storageTimer("put", outcome));
+        }
+        this.uploadSize.record(file.getSize());
 
         return fileName;
     }
@@ -60,7 +78,14 @@ public class S3FileStorageServiceImpl implements FileStorageService {
                 .key(fileName)
                 .build();
 
-        s3Client.deleteObject(deleteObjectRequest);
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        String outcome = "error";
+        try {
+            s3Client.deleteObject(deleteObjectRequest);
+            outcome = "success";
+        } finally {
+            sample.stop(storageTimer("delete", outcome));
+        }
     }
 
     @Override
@@ -75,6 +100,14 @@ public class S3FileStorageServiceImpl implements FileStorageService {
         // No local file system setup needed
     }
 
+    private Timer storageTimer(String operation, String outcome) {
+        return Timer.builder("hobbie.storage.requests")
+                .description("S3 request latency")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(this.meterRegistry);
+    }
+
     private String generateFileName(String originalFileName) {
         String fileExtension = "";
         if (originalFileName != null && originalFileName.contains(".")) {
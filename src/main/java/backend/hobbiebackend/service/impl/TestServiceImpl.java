@@ -1,5 +1,6 @@
 package backend.hobbiebackend.service.impl;
 
+import backend.hobbiebackend.catalog.BusinessStatsAggregator;
 import backend.hobbiebackend.model.entities.AppClient;
 import backend.hobbiebackend.model.entities.Hobby;
 import backend.hobbiebackend.model.entities.Test;
@@ -11,7 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.HashSet;
 import java.util.Set;
 
 @Service
@@ -20,15 +21,19 @@ public class TestServiceImpl implements TestService {
     private final TestRepository testRepository;
     private final UserService userService;
     private final HobbyService hobbyService;
+    private final BusinessStatsAggregator businessStatsAggregator;
 
 
     @Autowired
-    public TestServiceImpl(TestRepository testRepository, UserService userService, HobbyService hobbyService) {
+    public TestServiceImpl(TestRepository testRepository, UserService userService, HobbyService hobbyService,
+                           BusinessStatsAggregator businessStatsAggregator) {
         this.testRepository = testRepository;
         this.userService = userService;
         this.hobbyService = hobbyService;
+        this.businessStatsAggregator = businessStatsAggregator;
     }
 
+    // Only stores the answers; matching runs later as a match job
     @Override
     public void saveTestResults(Test results) {
         AppClient currentUserAppClient = this.userService.findAppClientByUsername(results.getUsername());
@@ -37,9 +42,19 @@ public class TestServiceImpl implements TestService {
         }
         this.testRepository.save(results);
         currentUserAppClient.setTestResults(results);
+    }
 
-        Set<Hobby> hobbyMatches = this.hobbyService.findHobbyMatches(currentUserAppClient.getUsername());
+    @Override
+    public int refreshMatches(String username) {
+        AppClient currentUserAppClient = this.userService.findAppClientByUsername(username);
+        Set<Hobby> hobbyMatches = this.hobbyService.findHobbyMatches(username);
+        // Hobbies leaving or entering the match set change their match appearances
+        Set<Long> changed = new HashSet<>();
+        currentUserAppClient.getHobby_matches().forEach(hobby -> changed.add(hobby.getId()));
+        hobbyMatches.forEach(hobby -> changed.add(hobby.getId()));
+        this.businessStatsAggregator.markDirtyAfterCommit(changed);
         currentUserAppClient.setHobby_matches(hobbyMatches);
         this.userService.saveUpdatedUserClient(currentUserAppClient);
+        return hobbyMatches.size();
     }
 }
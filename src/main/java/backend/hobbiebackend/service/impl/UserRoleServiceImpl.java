@@ -1,36 +0,0 @@
-package backend.hobbiebackend.service.impl;
-
-import backend.hobbiebackend.handler.NotFoundException;
-import backend.hobbiebackend.model.entities.UserRoleEntity;
-import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
-import backend.hobbiebackend.model.repostiory.UserRoleRepository;
-import backend.hobbiebackend.service.UserRoleService;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-
-import java.util.Optional;
-
-@Service
-public class UserRoleServiceImpl implements UserRoleService {
-    private final UserRoleRepository userRoleRepository;
-
-    @Autowired
-    public UserRoleServiceImpl(UserRoleRepository userRoleRepository) {
-        this.userRoleRepository = userRoleRepository;
-    }
-
-    @Override
-    public UserRoleEntity getUserRoleByEnumName(UserRoleEnum userRoleEnum) {
-        Optional<UserRoleEntity> byRole = this.userRoleRepository.findByRole(userRoleEnum);
-        if (byRole.isPresent()) {
-            return byRole.get();
-        } else {
-            throw new NotFoundException("User role not found. Please seed the roles.");
-        }
-    }
-
-    @Override
-    public UserRoleEntity saveRole(UserRoleEntity userRoleEntity) {
-        return this.userRoleRepository.save(userRoleEntity);
-    }
-}
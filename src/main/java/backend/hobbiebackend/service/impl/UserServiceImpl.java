@@ -1,5 +1,7 @@
 package backend.hobbiebackend.service.impl;
 
+import backend.hobbiebackend.catalog.HobbyCatalog;
+import backend.hobbiebackend.handler.ConflictException;
 import backend.hobbiebackend.handler.NotFoundException;
 import backend.hobbiebackend.model.dto.AppClientSignUpDto;
 import backend.hobbiebackend.model.dto.BusinessRegisterDto;
@@ -8,40 +10,56 @@ import backend.hobbiebackend.model.entities.enums.GenderEnum;
 import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
 import backend.hobbiebackend.model.repostiory.AppClientRepository;
 import backend.hobbiebackend.model.repostiory.BusinessOwnerRepository;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import backend.hobbiebackend.model.repostiory.UserCredentialsRepository;
 import backend.hobbiebackend.model.repostiory.UserRepository;
-import backend.hobbiebackend.model.repostiory.UserRoleRepository;
-import backend.hobbiebackend.service.UserRoleService;
+import backend.hobbiebackend.security.UsernameAllocator;
 import backend.hobbiebackend.service.UserService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @Transactional
+@Timed("hobbie.service")
 public class UserServiceImpl implements UserService {
-    private final ModelMapper modelMapper;
+    private static final int USERNAME_ATTEMPTS = 5;
+
     private final UserRepository userRepository;
     private final AppClientRepository appClientRepository;
     private final BusinessOwnerRepository businessOwnerRepository;
-    private final UserRoleService userRoleService;
     private final PasswordEncoder passwordEncoder;
+    private final HobbyRepository hobbyRepository;
+    private final UserCredentialsRepository userCredentialsRepository;
+    private final HobbyCatalog hobbyCatalog;
+    private final UsernameAllocator usernameAllocator;
 
     @Autowired
-    public UserServiceImpl(ModelMapper modelMapper, UserRepository userRepository,
+    public UserServiceImpl(UserRepository userRepository,
                            AppClientRepository appClientRepository,
-                           BusinessOwnerRepository businessOwnerRepository, UserRoleService userRoleService, PasswordEncoder passwordEncoder) {
-        this.modelMapper = modelMapper;
+                           BusinessOwnerRepository businessOwnerRepository, PasswordEncoder passwordEncoder,
+                           HobbyRepository hobbyRepository, UserCredentialsRepository userCredentialsRepository,
+                           HobbyCatalog hobbyCatalog, UsernameAllocator usernameAllocator) {
         this.userRepository = userRepository;
         this.appClientRepository = appClientRepository;
         this.businessOwnerRepository = businessOwnerRepository;
-        this.userRoleService = userRoleService;
         this.passwordEncoder = passwordEncoder;
+        this.hobbyRepository = hobbyRepository;
+        this.userCredentialsRepository = userCredentialsRepository;
+        this.hobbyCatalog = hobbyCatalog;
+        this.usernameAllocator = usernameAllocator;
 
     }
 
@@ -50,17 +68,11 @@ public class UserServiceImpl implements UserService {
         List<UserEntity> seededUsers = new ArrayList<>();
         //simple user
         if (appClientRepository.count() == 0) {
-            UserRoleEntity userRoleEntity = new UserRoleEntity();
-            userRoleEntity.setRole(UserRoleEnum.USER);
-            UserRoleEntity userRole = this.userRoleService.saveRole(userRoleEntity);
-            UserRoleEntity userRoleEntity2 = new UserRoleEntity();
-            userRoleEntity2.setRole(UserRoleEnum.ADMIN);
-            UserRoleEntity adminRole = this.userRoleService.saveRole(userRoleEntity2);
             AppClient user = new AppClient();
             user.setUsername("user");
             user.setEmail("n13@gmail.com");
             user.setPassword(this.passwordEncoder.encode("topsecret"));
-            user.setRoles(List.of(userRole));
+            user.setRoles(EnumSet.of(UserRoleEnum.USER));
             user.setFullName("Nikoleta Doykova");
             user.setGender(GenderEnum.FEMALE);
 
@@ -70,15 +82,12 @@ public class UserServiceImpl implements UserService {
 
         }
         if (businessOwnerRepository.count() == 0) {
-            UserRoleEntity userRoleEntity3 = new UserRoleEntity();
-            userRoleEntity3.setRole(UserRoleEnum.BUSINESS_USER);
-            UserRoleEntity businessRole = this.userRoleService.saveRole(userRoleEntity3);
             //business_user
             BusinessOwner business_user = new BusinessOwner();
             business_user.setUsername("business");
             business_user.setEmail("n10@gamil.com");
             business_user.setPassword(this.passwordEncoder.encode("topsecret"));
-            business_user.setRoles(List.of(businessRole));
+            business_user.setRoles(EnumSet.of(UserRoleEnum.BUSINESS_USER));
             business_user.setBusinessName("My Business name");
             business_user.setAddress("My business address");
             businessOwnerRepository.save(business_user);
@@ -87,22 +96,51 @@ public class UserServiceImpl implements UserService {
         return seededUsers;
     }
 
+    // No transaction of its own: the hash is computed before the save takes a connection
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AppClient register(AppClientSignUpDto user) {
-        UserRoleEntity userRole = this.userRoleService.getUserRoleByEnumName(UserRoleEnum.USER);
-        AppClient appClient = this.modelMapper.map(user, AppClient.class);
-        appClient.setRoles(List.of(userRole));
-        appClient.setPassword(this.passwordEncoder.encode(user.getPassword()));
-        return appClientRepository.save(appClient);
+        AppClient appClient = new AppClient(user.getUsername(), user.getEmail(), EnumSet.of(UserRoleEnum.USER),
+                this.passwordEncoder.encode(user.getPassword()), user.getFullName(), user.getGender());
+        try {
+            return this.appClientRepository.saveAndFlush(appClient);
+        } catch (DataIntegrityViolationException e) {
+            throw conflict(e);
+        }
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BusinessOwner registerBusiness(BusinessRegisterDto business) {
-        UserRoleEntity businessUserRole = this.userRoleService.getUserRoleByEnumName(UserRoleEnum.BUSINESS_USER);
-        BusinessOwner businessOwner = this.modelMapper.map(business, BusinessOwner.class);
-        businessOwner.setRoles(List.of(businessUserRole));
-        businessOwner.setPassword(this.passwordEncoder.encode(business.getPassword()));
-        return businessOwnerRepository.save(businessOwner);
+        BusinessOwner businessOwner = new BusinessOwner(business.getUsername(), business.getEmail(),
+                EnumSet.of(UserRoleEnum.BUSINESS_USER), this.passwordEncoder.encode(business.getPassword()),
+                business.getBusinessName(), business.getAddress());
+        try {
+            return this.businessOwnerRepository.saveAndFlush(businessOwner);
+        } catch (DataIntegrityViolationException e) {
+            throw conflict(e);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AppClient registerOAuthClient(String email, String fullName) {
+        // Never used to log in; OAuth2 users authenticate with the provider
+        String password = this.passwordEncoder.encode(UUID.randomUUID().toString());
+        for (int attempt = 1; ; attempt++) {
+            AppClient appClient = new AppClient(this.usernameAllocator.allocate(email), email,
+                    EnumSet.of(UserRoleEnum.USER), password, fullName, GenderEnum.OTHER);
+            try {
+                return this.appClientRepository.saveAndFlush(appClient);
+            } catch (DataIntegrityViolationException e) {
+                RuntimeException conflict = conflict(e);
+                // A concurrent first login with the same base name took it between allocating and inserting
+                boolean usernameTaken = conflict instanceof ConflictException taken && "username".equals(taken.getField());
+                if (!usernameTaken || attempt == USERNAME_ATTEMPTS) {
+                    throw conflict;
+                }
+            }
+        }
     }
 
     @Override
@@ -116,6 +154,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserEntity findUserById(Long userId) {
         Optional<UserEntity> byId = this.userRepository.findById(userId);
         if (byId.isPresent()) {
@@ -126,6 +165,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserEntity findUserByEmail(String email) {
         Optional<UserEntity> byEmail = this.userRepository.findByEmail(email);
         if (byEmail.isPresent()) {
@@ -136,8 +176,9 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BusinessOwner findBusinessOwnerById(Long id) {
-        Optional<BusinessOwner> businessOwner = this.businessOwnerRepository.findById(id);
+        Optional<BusinessOwner> businessOwner = this.businessOwnerRepository.findProfileById(id);
         if (businessOwner.isPresent()) {
             return businessOwner.get();
         } else {
@@ -146,6 +187,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserEntity findUserByUsername(String username) {
         Optional<UserEntity> byUsername = this.userRepository.findByUsername(username);
         if (byUsername.isPresent()) {
@@ -156,10 +198,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public boolean userExists(String username, String email) {
-        Optional<UserEntity> byUsername = this.userRepository.findByUsername(username);
-        Optional<UserEntity> byEmail = this.userRepository.findByEmail(email);
-        return byUsername.isPresent() || byEmail.isPresent();
+    @Transactional(readOnly = true)
+    public UserCredentials findCredentialsByUsername(String username) {
+        return this.userCredentialsRepository.findByUsername(username)
+                .orElseThrow(() -> new NotFoundException("Can not find user with this username"));
     }
 
     @Override
@@ -176,14 +218,10 @@ public class UserServiceImpl implements UserService {
         Optional<BusinessOwner> byId = this.businessOwnerRepository.findById(user.getId());
 
         if (byId.isPresent()) {
-            List<AppClient> all = appClientRepository.findAll();
-            for (AppClient client : all) {
-                for (Hobby hobby : byId.get().getHobby_offers()) {
-                    client.getHobby_matches().remove(hobby);
-                    client.getSaved_hobbies().remove(hobby);
-                }
-                this.userRepository.save(client);
-            }
+            this.appClientRepository.deleteSavedHobbyReferencesForOwner(user.getId());
+            this.appClientRepository.deleteHobbyMatchReferencesForOwner(user.getId());
+            // Offers go with the owner through the cascade
+            this.hobbyCatalog.removeCreatorAfterCommit(user.getUsername());
         }
         userRepository.delete(user);
         return true;
@@ -191,11 +229,11 @@ public class UserServiceImpl implements UserService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public AppClient findAppClientById(Long clientId) {
-        Optional<AppClient> user = this.appClientRepository.findById(clientId);
+        Optional<AppClient> user = this.appClientRepository.findProfileById(clientId);
         if (user.isPresent()) {
-
-            return user.get();
+            return withSavedHobbies(user.get());
         } else {
             throw new NotFoundException("Can not find current user.");
         }
@@ -203,28 +241,61 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void findAndRemoveHobbyFromClientsRecords(Hobby hobby) {
-        List<AppClient> all = this.appClientRepository.findAll();
-
-        for (AppClient appClient : all) {
-            appClient.getSaved_hobbies().remove(hobby);
-            appClient.getHobby_matches().remove(hobby);
-        }
+        this.appClientRepository.deleteSavedHobbyReferences(hobby.getId());
+        this.appClientRepository.deleteHobbyMatchReferences(hobby.getId());
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public boolean businessExists(String businessName) {
-        Optional<BusinessOwner> byBusinessName = this.businessOwnerRepository.findByBusinessName(businessName);
-        return byBusinessName.isPresent();
+        return this.businessOwnerRepository.existsByBusinessName(businessName);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public AppClient findAppClientByUsername(String username) {
         return this.appClientRepository.findByUsername(username).orElseThrow();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BusinessOwner findBusinessByUsername(String username) {
         return this.businessOwnerRepository.findByUsername(username).get();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AppClient findAppClientProfile(String username) {
+        return withSavedHobbies(this.appClientRepository.findProfileByUsername(username).orElseThrow());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BusinessOwner findBusinessProfile(String username) {
+        return this.businessOwnerRepository.findProfileByUsername(username).get();
+    }
+
+    // The unique constraints decide, so two concurrent registrations cannot both get through a check first
+    private static RuntimeException conflict(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        if ("users_username_key".equals(constraint)) {
+            return new ConflictException("username", "Username already in use.");
+        }
+        if ("users_email_key".equals(constraint)) {
+            return new ConflictException("email", "Email address already in use.");
+        }
+        if ("business_owners_business_name_key".equals(constraint)) {
+            return new ConflictException("businessName", "Business name already in use.");
+        }
+        return e;
+    }
+
+    private AppClient withSavedHobbies(AppClient client) {
+        // Saved hobbies are a bag; fetch-joining them next to the matches would repeat their rows, so they get their own query.
+        this.hobbyRepository.findSavedByClientId(client.getId());
+        Hibernate.initialize(client.getSaved_hobbies());
+        return client;
+    }
 }
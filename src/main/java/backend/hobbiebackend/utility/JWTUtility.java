@@ -3,6 +3,9 @@ package backend.hobbiebackend.utility;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -23,6 +26,21 @@ public class JWTUtility implements Serializable {
     @Value("${jwt.secret}")
     private String secretKey;
 
+    private final transient Timer parseTimer;
+    private final transient Timer validateTimer;
+
+    @Autowired
+    public JWTUtility(MeterRegistry meterRegistry) {
+        this.parseTimer = Timer.builder("hobbie.auth.jwt")
+                .description("JWT processing time")
+                .tag("operation", "parse")
+                .register(meterRegistry);
+        this.validateTimer = Timer.builder("hobbie.auth.jwt")
+                .description("JWT processing time")
+                .tag("operation", "validate")
+                .register(meterRegistry);
+    }
+
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
@@ -37,7 +55,7 @@ public class JWTUtility implements Serializable {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
+        return this.parseTimer.record(() -> Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody());
     }
 
     private Boolean isTokenExpired(String token) {
@@ -57,7 +75,9 @@ public class JWTUtility implements Serializable {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return this.validateTimer.record(() -> {
+            final String username = getUsernameFromToken(token);
+            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        });
     }
 }
\ No newline at end of file
@@ -1,28 +1,49 @@
 package backend.hobbiebackend.web;
 
+import backend.hobbiebackend.catalog.HobbyJson;
+import backend.hobbiebackend.catalog.HobbyJsonCache;
+import backend.hobbiebackend.catalog.HobbyViewers;
+import backend.hobbiebackend.model.dto.HobbyImportResultDto;
+import backend.hobbiebackend.handler.NotFoundException;
+import backend.hobbiebackend.model.dto.HobbyPageDto;
+import backend.hobbiebackend.model.dto.HobbySaveCountDto;
+import backend.hobbiebackend.model.dto.HobbyStatsDto;
+import backend.hobbiebackend.model.dto.HobbySummaryDto;
+import backend.hobbiebackend.model.dto.HobbyVersionDto;
+import backend.hobbiebackend.model.dto.HobbyViewersDto;
 import backend.hobbiebackend.model.entities.*;
 import backend.hobbiebackend.service.CategoryService;
+import backend.hobbiebackend.service.HobbyExportService;
+import backend.hobbiebackend.service.HobbyImportService;
 import backend.hobbiebackend.service.HobbyService;
 import backend.hobbiebackend.service.LocationService;
 import backend.hobbiebackend.service.UserService;
 import backend.hobbiebackend.service.impl.S3FileStorageServiceImpl;
 import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.HobbyImportFormatEnum;
+import backend.hobbiebackend.model.entities.enums.HobbySortEnum;
 import backend.hobbiebackend.model.entities.enums.LocationEnum;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/hobbies")
@@ -35,6 +56,10 @@ public class HobbyController {
     private final LocationService locationService;
     private final UserService userService;
     private final S3FileStorageServiceImpl s3FileStorageService;
+    private final HobbyJsonCache hobbyJsonCache;
+    private final HobbyViewers hobbyViewers;
+    private final HobbyImportService hobbyImportService;
+    private final HobbyExportService hobbyExportService;
 
     @Autowired
     public HobbyController(
@@ -42,12 +67,20 @@ public class HobbyController {
             CategoryService categoryService,
             LocationService locationService,
             UserService userService,
-            S3FileStorageServiceImpl s3FileStorageService) {
+            S3FileStorageServiceImpl s3FileStorageService,
+            HobbyJsonCache hobbyJsonCache,
+            HobbyViewers hobbyViewers,
+            HobbyImportService hobbyImportService,
+            HobbyExportService hobbyExportService) {
         this.hobbyService = hobbyService;
         this.categoryService = categoryService;
         this.locationService = locationService;
         this.userService = userService;
         this.s3FileStorageService = s3FileStorageService;
+        this.hobbyJsonCache = hobbyJsonCache;
+        this.hobbyViewers = hobbyViewers;
+        this.hobbyImportService = hobbyImportService;
+        this.hobbyExportService = hobbyExportService;
     }
 
     @PostMapping(consumes = "multipart/form-data")
@@ -113,13 +146,8 @@ public class HobbyController {
             hobby.setCategory(cat);
             hobby.setLocation(loc);
 
-            BusinessOwner business = userService.findBusinessByUsername(creator);
-            Set<Hobby> hobbyOffers = business.getHobby_offers();
-            hobbyOffers.add(hobby);
-            business.setHobby_offers(hobbyOffers);
-
+            // Also links the hobby to the creator's business offers
             hobbyService.createHobby(hobby);
-            userService.saveUpdatedUser(business);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(hobby);
         } catch (Exception e) {
@@ -128,6 +156,43 @@ public class HobbyController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('BUSINESS_USER')")
+    @Operation(
+            summary = "Bulk import hobbies",
+            description = "CSV with a header row or NDJSON, one hobby per row, created for the calling business; "
+                    + "images are added afterwards through the update endpoint",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<?> importHobbies(HttpServletRequest request) {
+        try {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            HobbyImportFormatEnum format = MediaType.parseMediaType(request.getContentType())
+                    .isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    ? HobbyImportFormatEnum.NDJSON : HobbyImportFormatEnum.CSV;
+            // The body is read straight from the request so large files are never held in memory
+            HobbyImportResultDto result = hobbyImportService.importHobbies(request.getInputStream(), format,
+                    auth.getName());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to import hobbies: " + e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('BUSINESS_USER')")
+    @Operation(
+            summary = "Export own hobbies",
+            description = "Streams all hobbies of the calling business as NDJSON",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public void exportHobbies(HttpServletResponse response) throws IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        startNdjsonDownload(response, "hobbies.ndjson");
+        hobbyExportService.exportOffers(auth.getName(), response.getOutputStream());
+    }
+
     @PutMapping(value = "/{id}", consumes = "multipart/form-data")
     @PreAuthorize("hasRole('BUSINESS_USER')")
     @Operation(
@@ -148,7 +213,8 @@ public class HobbyController {
             @RequestParam(value = "profileImg", required = false) MultipartFile profileImg,
             @RequestParam(value = "galleryImg1", required = false) MultipartFile galleryImg1,
             @RequestParam(value = "galleryImg2", required = false) MultipartFile galleryImg2,
-            @RequestParam(value = "galleryImg3", required = false) MultipartFile galleryImg3) {
+            @RequestParam(value = "galleryImg3", required = false) MultipartFile galleryImg3,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             String username = auth.getName();
@@ -158,6 +224,10 @@ public class HobbyController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You can only update your own hobbies");
             }
+            if (ifMatch != null && !matchesVersion(ifMatch, existingHobby.getVersion())) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body("Hobby was changed since it was loaded");
+            }
 
             // Update images if new ones provided
             if (profileImg != null && !profileImg.isEmpty()) {
@@ -198,7 +268,13 @@ public class HobbyController {
             existingHobby.setLocation(loc);
 
             hobbyService.saveUpdatedHobby(existingHobby);
-            return ResponseEntity.ok(existingHobby);
+            return ResponseEntity.ok()
+                    .eTag(eTagOf(existingHobby.getVersion()))
+                    .lastModified(existingHobby.getModifiedAt())
+                    .body(existingHobby);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Hobby was changed by another request, reload it and try again");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to update hobby: " + e.getMessage());
@@ -224,6 +300,79 @@ public class HobbyController {
         return ResponseEntity.ok(isSaved);
     }
 
+    @GetMapping(value = "/search")
+    @PreAuthorize("hasAnyRole('USER', 'BUSINESS_USER')")
+    @Operation(
+            summary = "Search hobbies",
+            description = "Full-text search over name, slogan, intro and description, ranked by relevance",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<?> searchHobbies(
+            @RequestParam("q") String query,
+            @RequestParam(value = "category", required = false) CategoryNameEnum category,
+            @RequestParam(value = "location", required = false) LocationEnum location,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            HobbyPageDto page = hobbyService.searchHobbies(query, category, location, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/browse")
+    @PreAuthorize("hasAnyRole('USER', 'BUSINESS_USER')")
+    @Operation(
+            summary = "Browse hobbies",
+            description = "Filter by category, location and price range, sorted by price or newest first",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<?> browseHobbies(
+            @RequestParam(value = "category", required = false) CategoryNameEnum category,
+            @RequestParam(value = "location", required = false) LocationEnum location,
+            @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(value = "sort", defaultValue = "NEWEST") HobbySortEnum sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            HobbyPageDto page = hobbyService.browseHobbies(category, location, minPrice, maxPrice, sort, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/trending")
+    @PreAuthorize("hasAnyRole('USER', 'BUSINESS_USER')")
+    @Operation(
+            summary = "Get trending hobbies",
+            description = "Hobbies in a location with the most saves in the last seven days; relevance is the number of saves",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<?> getTrendingHobbies(
+            @RequestParam LocationEnum location,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(hobbyService.findTrendingHobbies(location, limit));
+    }
+
+    @GetMapping(value = "/dashboard")
+    @PreAuthorize("hasRole('BUSINESS_USER')")
+    @Operation(
+            summary = "Get business dashboard",
+            description = "Saves, match appearances and unique viewers of every hobby the business created, "
+                    + "as of the last rollup; hobbies not rolled up yet have no statistics",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<?> getBusinessDashboard() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        List<HobbyStatsDto> stats = hobbyService.findBusinessDashboard(auth.getName());
+        return ResponseEntity.ok(stats);
+    }
+
     @GetMapping(value = "/{id}")
     @PreAuthorize("hasAnyRole('USER', 'BUSINESS_USER')")
     @Operation(
@@ -231,15 +380,97 @@ public class HobbyController {
             description = "Authenticated users can view hobby details",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseEntity<Hobby> getHobbyDetails(@PathVariable Long id) {
+    public ResponseEntity<?> getHobbyDetails(@PathVariable Long id, WebRequest request) {
         try {
-            Hobby hobby = hobbyService.findHobbieById(id);
-            return ResponseEntity.ok(hobby);
+            String viewer = SecurityContextHolder.getContext().getAuthentication().getName();
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                // Revalidation only needs the version, the hobby itself is loaded when it changed
+                HobbyVersionDto current = hobbyService.findHobbyVersion(id);
+                if (request.checkNotModified(eTagOf(current.getVersion()), current.getModifiedAt().toEpochMilli())) {
+                    hobbyViewers.recordView(id, viewer);
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+                }
+            }
+            HobbyJson json = hobbyJsonCache.find(id);
+            if (json == null) {
+                json = hobbyJsonCache.store(hobbyService.findHobbyDetails(id));
+            }
+            hobbyViewers.recordView(id, viewer);
+            // Cached bytes go out as they are; the container skips compressing already encoded responses
+            boolean gzip = json.getGzipped() != null && acceptsGzip(request);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(eTagOf(json.getVersion()))
+                    .lastModified(json.getModifiedAt())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(gzip ? json.getGzipped() : json.getPlain());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    @GetMapping(value = "/{id}/viewers")
+    @PreAuthorize("hasRole('BUSINESS_USER')")
+    @Operation(
+            summary = "Get unique viewers",
+            description = "Estimated number of distinct users who opened the hobby, with a 95% range; owner only",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<?> getUniqueViewers(@PathVariable Long id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            Hobby hobby = hobbyService.findHobbyDetails(id);
+            if (!hobby.getCreator().equals(auth.getName())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("You can only view statistics of your own hobbies");
+            }
+            HobbyViewersDto viewers = hobbyViewers.findViewers(id);
+            return ResponseEntity.ok(viewers);
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/{id}/related")
+    @PreAuthorize("hasAnyRole('USER', 'BUSINESS_USER')")
+    @Operation(
+            summary = "Get related hobbies",
+            description = "Hobbies most often saved by the clients who saved this one; relevance is the number of shared saves",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<?> getRelatedHobbies(
+            @PathVariable Long id,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            List<HobbySummaryDto> related = hobbyService.findRelatedHobbies(id, limit);
+            return ResponseEntity.ok(related);
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/{id}/saves")
+    @PreAuthorize("hasAnyRole('USER', 'BUSINESS_USER')")
+    @Operation(
+            summary = "Get save counts",
+            description = "How many clients saved the hobby, in total and in the last seven days",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<?> getSaveCount(@PathVariable Long id) {
+        try {
+            HobbySaveCountDto saveCount = hobbyService.findSaveCount(id);
+            return ResponseEntity.ok(saveCount);
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(e.getMessage());
+        }
+    }
+
     @PostMapping("/save")
     @PreAuthorize("hasRole('USER')")
     @Operation(
@@ -358,4 +589,51 @@ public class HobbyController {
                     .body("User not found");
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/saved/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(
+            summary = "Export saved hobbies",
+            description = "Streams all hobbies saved by the user as NDJSON",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public void exportSavedHobbies(@RequestParam String username, HttpServletResponse response) throws IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!auth.getName().equals(username)) {
+            response.sendError(HttpStatus.FORBIDDEN.value(), "You can only export your own saved hobbies");
+            return;
+        }
+        startNdjsonDownload(response, "saved-hobbies.ndjson");
+        hobbyExportService.exportSavedHobbies(username, response.getOutputStream());
+    }
+
+    // Rows are written straight to the response, so the status and headers have to be set before the first one
+    private static void startNdjsonDownload(HttpServletResponse response, String fileName) {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+    }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    // Weak: the gzip and identity bodies of one version share the tag, and so do bodies the container compresses
+    private static String eTagOf(Long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    // If-Match compares weakly here, the version alone decides; tags from before the W/ prefix still match
+    private static boolean matchesVersion(String ifMatch, Long version) {
+        String opaqueTag = "\"" + version + "\"";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(opaqueTag) || tag.equals("W/" + opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -4,7 +4,6 @@ import backend.hobbiebackend.model.entities.Hobby;
 import backend.hobbiebackend.model.entities.UserEntity;
 import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
 import backend.hobbiebackend.service.HobbyService;
-import backend.hobbiebackend.service.UserRoleService;
 import backend.hobbiebackend.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,7 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Set;
+import java.util.List;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:4200")
@@ -28,7 +27,7 @@ public class HomeController {
 
     @GetMapping("/home")
     @Operation(summary = "Show client/business homepage", security = @SecurityRequirement(name = "bearerAuth"))
-    public Set<Hobby> hobbiesShow(@RequestParam String username, @RequestParam String role) {
+    public List<Hobby> hobbiesShow(@RequestParam String username, @RequestParam String role) {
         if (role.equals("user")) {
             return this.hobbyService.getAllHobbieMatchesForClient(username);
         }
@@ -1,30 +1,60 @@
 package backend.hobbiebackend.web;
 
+import backend.hobbiebackend.model.dto.MatchJobDto;
 import backend.hobbiebackend.model.entities.Test;
+import backend.hobbiebackend.service.MatchJobService;
 import backend.hobbiebackend.service.TestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @CrossOrigin(origins = "http://localhost:4200")
 public class TestController {
 
     private final TestService testService;
+    private final MatchJobService matchJobService;
 
     @Autowired
-    public TestController(TestService testService) {
+    public TestController(TestService testService, MatchJobService matchJobService) {
         this.testService = testService;
+        this.matchJobService = matchJobService;
     }
     
     @PostMapping("/test")
-    @Operation(summary = "Save test results", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<HttpStatus> saveTestResults(@RequestBody Test results) {
+    @Operation(
+            summary = "Save test results",
+            description = "Stores the answers and queues matching; poll the returned job until it is DONE",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<?> saveTestResults(@RequestBody Test results) {
+        if (this.matchJobService.isSaturated()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Matching is busy, try again shortly");
+        }
         this.testService.saveTestResults(results);
-        return new ResponseEntity<>(HttpStatus.CREATED);
+        MatchJobDto job = this.matchJobService.submit(results.getUsername());
+        return ResponseEntity.accepted()
+                .location(URI.create("/test/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/test/jobs/{id}")
+    @Operation(summary = "Get match job status", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<?> matchJob(@PathVariable String id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return this.matchJobService.findJob(id, auth.getName())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Match job not found"));
     }
 
 }
@@ -1,13 +1,16 @@
 package backend.hobbiebackend.web;
 
+import backend.hobbiebackend.handler.ConflictException;
 import backend.hobbiebackend.handler.NotFoundException;
 import backend.hobbiebackend.model.dto.AppClientSignUpDto;
 import backend.hobbiebackend.model.dto.BusinessRegisterDto;
+import backend.hobbiebackend.model.dto.FieldConflictDto;
 import backend.hobbiebackend.model.dto.UpdateAppClientDto;
 import backend.hobbiebackend.model.dto.UpdateBusinessDto;
 import backend.hobbiebackend.model.entities.AppClient;
 import backend.hobbiebackend.model.entities.BusinessOwner;
 import backend.hobbiebackend.model.entities.UserEntity;
+import backend.hobbiebackend.model.entities.UserCredentials;
 import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
 import backend.hobbiebackend.model.jwt.JwtRequest;
 import backend.hobbiebackend.model.jwt.JwtResponse;
@@ -52,36 +55,39 @@ public class UserController {
     }
 
     @PostMapping("/signup")
-    @Operation(summary = "Create new client-user")
+    @Operation(summary = "Create new client-user", description = "409 names the field when the username or email is taken")
     public ResponseEntity<?> signup(@RequestBody AppClientSignUpDto user) {
-        System.out.println(user);
-        if (this.userService.userExists(user.getUsername(), user.getEmail())) {
-            throw new RuntimeException("Username or email address already in use.");
+        try {
+            AppClient client = this.userService.register(user);
+            return new ResponseEntity<AppClient>(client, HttpStatus.CREATED);
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new FieldConflictDto(e.getField(), e.getMessage()));
         }
-        AppClient client = this.userService.register(user);
-        return new ResponseEntity<AppClient>(client, HttpStatus.CREATED);
     }
 
     @PostMapping("/register")
-    @Operation(summary = "Create new business-user")
+    @Operation(summary = "Create new business-user", description = "409 names the field when the username, email or business name is taken")
     public ResponseEntity<?> registerBusiness(@RequestBody BusinessRegisterDto business) {
-        if (this.userService.businessExists(business.getBusinessName()) || this.userService.userExists(business.getUsername(), business.getEmail())) {
-            throw new RuntimeException("Username or email address already in use.");
+        try {
+            BusinessOwner businessOwner = this.userService.registerBusiness(business);
+            return new ResponseEntity<BusinessOwner>(businessOwner, HttpStatus.CREATED);
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new FieldConflictDto(e.getField(), e.getMessage()));
         }
-        BusinessOwner businessOwner = this.userService.registerBusiness(business);
-        return new ResponseEntity<BusinessOwner>(businessOwner, HttpStatus.CREATED);
     }
 
     @GetMapping("/client")
     @Operation(summary = "show client-user information", security = @SecurityRequirement(name = "bearerAuth"))
     public AppClient showUserDetails(@RequestParam String username) {
-        return this.userService.findAppClientByUsername(username);
+        return this.userService.findAppClientProfile(username);
     }
 
     @GetMapping("/business")
     @Operation(summary = "Show business-user information", security = @SecurityRequirement(name = "bearerAuth"))
     public BusinessOwner showBusinessDetails(@RequestParam String username) {
-        return this.userService.findBusinessByUsername(username);
+        return this.userService.findBusinessProfile(username);
     }
 
     @PutMapping("/user")
@@ -166,12 +172,10 @@ public class UserController {
     @CrossOrigin(origins = "http://localhost:4200")
     @Operation(summary = "Login based on user role after authentication", security = @SecurityRequirement(name = "bearerAuth"))
     public String logInUser(@RequestParam String username) {
-        UserEntity userByUsername = this.userService.findUserByUsername(username);
-        if (userByUsername.getRoles().stream()
-                .anyMatch(u -> u.getRole().equals(UserRoleEnum.USER))) {
+        UserCredentials userByUsername = this.userService.findCredentialsByUsername(username);
+        if (userByUsername.hasRole(UserRoleEnum.USER)) {
             return "USER";
-        } else if (userByUsername.getRoles().stream()
-                .anyMatch(u -> u.getRole().equals(UserRoleEnum.BUSINESS_USER))) {
+        } else if (userByUsername.hasRole(UserRoleEnum.BUSINESS_USER)) {
             return "BUSINESS_USER";
         }
         return null;
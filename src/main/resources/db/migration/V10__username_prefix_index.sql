@@ -0,0 +1,3 @@
+-- UserCredentialsRepository.findHighestUsernameSuffix: LIKE 'base%' can only use a btree built with the
+-- pattern operator class, whatever the database collation is.
+CREATE INDEX IF NOT EXISTS idx_users_username_pattern ON users (username text_pattern_ops);
@@ -0,0 +1,5 @@
+-- HobbyRepository.browseHobbies with the default NEWEST sort (id descending) under a location and/or category
+-- filter. The V2 browse indexes continue with price, so they cannot return the filtered rows in id order.
+CREATE INDEX IF NOT EXISTS idx_hobbies_location_category_id ON hobbies (location_id, category_id, id);
+CREATE INDEX IF NOT EXISTS idx_hobbies_location_id ON hobbies (location_id, id);
+CREATE INDEX IF NOT EXISTS idx_hobbies_category_id ON hobbies (category_id, id);
@@ -0,0 +1,166 @@
+-- Schema as generated by Hibernate for the entity model at the time ddl-auto=update was retired.
+-- Existing databases are baselined at this version instead of running it.
+
+create table app_clients (
+    id bigint not null,
+    test_results_id bigint unique,
+    full_name varchar(255) not null,
+    gender varchar(255) not null check (gender in ('MALE','FEMALE','OTHER')),
+    primary key (id)
+);
+
+create table app_clients_hobby_matches (
+    app_client_id bigint not null,
+    hobby_matches_id bigint not null,
+    primary key (app_client_id, hobby_matches_id)
+);
+
+create table app_clients_saved_hobbies (
+    app_client_id bigint not null,
+    saved_hobbies_id bigint not null
+);
+
+create table business_owners (
+    id bigint not null,
+    address varchar(255) not null,
+    business_name varchar(255) not null,
+    primary key (id)
+);
+
+create table business_owners_hobby_offers (
+    business_owner_id bigint not null,
+    hobby_offers_id bigint not null unique,
+    primary key (business_owner_id, hobby_offers_id)
+);
+
+create table categories (
+    id bigint generated by default as identity,
+    name varchar(255) unique check (name in ('ACTIVE','FUN','CREATIVE','RELAX','INTELLECTUAL','SOCIAL','OTHER')),
+    primary key (id)
+);
+
+create table hobbies (
+    price numeric(38,2) not null,
+    category_id bigint,
+    id bigint generated by default as identity,
+    location_id bigint,
+    contact_info TEXT,
+    creator varchar(255),
+    description TEXT,
+    gallery_image_url_1 varchar(255),
+    gallery_image_url_2 varchar(255),
+    gallery_image_url_3 varchar(255),
+    img1_id varchar(255),
+    img2_id varchar(255),
+    img3_id varchar(255),
+    intro TEXT,
+    name varchar(255) not null,
+    profile_image_url varchar(255),
+    profile_img_id varchar(255),
+    slogan varchar(255),
+    primary key (id)
+);
+
+create table locations (
+    id bigint generated by default as identity,
+    name varchar(255) unique check (name in ('ZURICH','BERN','LUZERN','ZUG')),
+    primary key (id)
+);
+
+create table roles (
+    id bigint generated by default as identity,
+    role varchar(255) check (role in ('ADMIN','USER','BUSINESS_USER')),
+    primary key (id)
+);
+
+create table test_results (
+    id bigint generated by default as identity,
+    category_five varchar(255) check (category_five in ('ACTIVE','FUN','CREATIVE','RELAX','INTELLECTUAL','SOCIAL','OTHER')),
+    category_four varchar(255) check (category_four in ('ACTIVE','FUN','CREATIVE','RELAX','INTELLECTUAL','SOCIAL','OTHER')),
+    category_one varchar(255) check (category_one in ('ACTIVE','FUN','CREATIVE','RELAX','INTELLECTUAL','SOCIAL','OTHER')),
+    category_seven varchar(255) check (category_seven in ('ACTIVE','FUN','CREATIVE','RELAX','INTELLECTUAL','SOCIAL','OTHER')),
+    category_six varchar(255) check (category_six in ('ACTIVE','FUN','CREATIVE','RELAX','INTELLECTUAL','SOCIAL','OTHER')),
+    category_three varchar(255) check (category_three in ('ACTIVE','FUN','CREATIVE','RELAX','INTELLECTUAL','SOCIAL','OTHER')),
+    category_two varchar(255) check (category_two in ('ACTIVE','FUN','CREATIVE','RELAX','INTELLECTUAL','SOCIAL','OTHER')),
+    location varchar(255) check (location in ('ZURICH','BERN','LUZERN','ZUG')),
+    username varchar(255),
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    username varchar(255) not null unique,
+    primary key (id)
+);
+
+create table users_roles (
+    roles_id bigint not null,
+    user_entity_id bigint not null
+);
+
+alter table if exists app_clients
+    add constraint FK5jak01u3umj06njih0jy46qjb
+    foreign key (test_results_id)
+    references test_results;
+
+alter table if exists app_clients
+    add constraint FK3gngo4t284tvv595k6qqaeaob
+    foreign key (id)
+    references users;
+
+alter table if exists app_clients_hobby_matches
+    add constraint FKfof76x9himv1094vpnr4e7gfo
+    foreign key (hobby_matches_id)
+    references hobbies;
+
+alter table if exists app_clients_hobby_matches
+    add constraint FK1rl18heqvn4uri85kvjhx2udp
+    foreign key (app_client_id)
+    references app_clients;
+
+alter table if exists app_clients_saved_hobbies
+    add constraint FK1uqtaasfg0bm50xcvbv5nxqx2
+    foreign key (saved_hobbies_id)
+    references hobbies;
+
+alter table if exists app_clients_saved_hobbies
+    add constraint FKlvuox1dpgdwxxpb1wwbobaks1
+    foreign key (app_client_id)
+    references app_clients;
+
+alter table if exists business_owners
+    add constraint FKdfif92jyrp4dar8ynvvdtw392
+    foreign key (id)
+    references users;
+
+alter table if exists business_owners_hobby_offers
+    add constraint FKg105o2bivrn3x09e3g5632h4i
+    foreign key (hobby_offers_id)
+    references hobbies;
+
+alter table if exists business_owners_hobby_offers
+    add constraint FKohc6x053skaahqnv3hvfqp1cf
+    foreign key (business_owner_id)
+    references business_owners;
+
+alter table if exists hobbies
+    add constraint FKbglu8bigogurdpd60r1mrgca7
+    foreign key (category_id)
+    references categories;
+
+alter table if exists hobbies
+    add constraint FKaadmxkqx3m1slonyy7cqasx3v
+    foreign key (location_id)
+    references locations;
+
+alter table if exists users_roles
+    add constraint FKa62j07k5mhgifpp955h37ponj
+    foreign key (roles_id)
+    references roles;
+
+alter table if exists users_roles
+    add constraint FK7v417qhe0i2m9h8njggvciv00
+    foreign key (user_entity_id)
+    references users;
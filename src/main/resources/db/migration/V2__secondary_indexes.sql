@@ -0,0 +1,36 @@
+-- Secondary indexes derived from the repository queries. IF NOT EXISTS keeps this safe on databases
+-- that already received the search and browse indexes from the former spring.sql.init scripts.
+
+-- HobbyRepository.searchHobbies: weighted full-text document, maintained by Postgres on every write.
+ALTER TABLE hobbies ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(slogan, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(intro, '')), 'C') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'D')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_hobbies_search_vector ON hobbies USING gin (search_vector);
+
+-- HobbyRepository.browseHobbies and findAllByLocation (location_id prefix) / category filters (category_id prefix).
+CREATE INDEX IF NOT EXISTS idx_hobbies_location_category_price ON hobbies (location_id, category_id, price, id);
+CREATE INDEX IF NOT EXISTS idx_hobbies_category_price ON hobbies (category_id, price, id);
+CREATE INDEX IF NOT EXISTS idx_hobbies_price ON hobbies (price, id);
+
+-- HobbyRepository.findAllByCreator.
+CREATE INDEX IF NOT EXISTS idx_hobbies_creator ON hobbies (creator);
+
+-- BusinessOwnerRepository.findByBusinessName.
+CREATE INDEX IF NOT EXISTS idx_business_owners_business_name ON business_owners (business_name);
+
+-- AppClient.saved_hobbies has no primary key: index both directions of the join.
+CREATE INDEX IF NOT EXISTS idx_app_clients_saved_hobbies_client ON app_clients_saved_hobbies (app_client_id);
+CREATE INDEX IF NOT EXISTS idx_app_clients_saved_hobbies_hobby ON app_clients_saved_hobbies (saved_hobbies_id);
+
+-- AppClient.hobby_matches is keyed by (app_client_id, hobby_matches_id); removing a hobby looks up the second column.
+CREATE INDEX IF NOT EXISTS idx_app_clients_hobby_matches_hobby ON app_clients_hobby_matches (hobby_matches_id);
+
+-- UserEntity.roles is loaded by user id on every authentication.
+CREATE INDEX IF NOT EXISTS idx_users_roles_user ON users_roles (user_entity_id);
+
+-- test_results.username identifies the submitting client for lookups outside the app_clients link.
+CREATE INDEX IF NOT EXISTS idx_test_results_username ON test_results (username);
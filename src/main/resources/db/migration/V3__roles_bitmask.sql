@@ -0,0 +1,20 @@
+-- Roles move from the users_roles/roles join onto a bitmask column of users.
+-- Bits match UserRoleEnum: ADMIN = 1, USER = 2, BUSINESS_USER = 4.
+alter table users add column roles_mask integer not null default 0;
+
+update users u
+set roles_mask = coalesce((
+    select bit_or(case r.role
+                      when 'ADMIN' then 1
+                      when 'USER' then 2
+                      when 'BUSINESS_USER' then 4
+                      else 0
+                  end)
+    from users_roles ur
+    join roles r on r.id = ur.roles_id
+    where ur.user_entity_id = u.id), 0);
+
+alter table users alter column roles_mask drop default;
+
+drop table users_roles;
+drop table roles;
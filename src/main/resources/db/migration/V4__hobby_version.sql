@@ -0,0 +1,6 @@
+-- Optimistic locking and conditional GET validators for hobbies.
+alter table hobbies add column version bigint not null default 0;
+alter table hobbies add column modified_at timestamp(6) with time zone not null default now();
+
+alter table hobbies alter column version drop default;
+alter table hobbies alter column modified_at drop default;
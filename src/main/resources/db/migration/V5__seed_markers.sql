@@ -0,0 +1,6 @@
+-- One row per completed data seed, so later boots skip seeding after a single primary key lookup.
+create table seed_markers (
+    name varchar(64) not null,
+    applied_at timestamp(6) with time zone not null default now(),
+    primary key (name)
+);
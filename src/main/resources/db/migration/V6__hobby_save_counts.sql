@@ -0,0 +1,15 @@
+-- Net saves per hobby and UTC day, added to in batches by the in-memory save counters.
+-- Saves made before counting started are carried over into the 1970-01-01 bucket.
+create table hobby_save_counts (
+    hobby_id bigint not null,
+    bucket date not null,
+    saves bigint not null,
+    primary key (hobby_id, bucket)
+);
+
+create index idx_hobby_save_counts_bucket on hobby_save_counts (bucket, hobby_id) include (saves);
+
+insert into hobby_save_counts (hobby_id, bucket, saves)
+select saved_hobbies_id, date '1970-01-01', count(*)
+from app_clients_saved_hobbies
+group by saved_hobbies_id;
@@ -0,0 +1,7 @@
+-- HyperLogLog registers of the distinct users who opened each hobby, merged into by every instance.
+create table hobby_viewer_sketches (
+    hobby_id bigint not null,
+    registers bytea not null,
+    updated_at timestamp(6) with time zone not null default now(),
+    primary key (hobby_id)
+);
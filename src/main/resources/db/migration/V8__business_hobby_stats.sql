@@ -0,0 +1,12 @@
+-- Per-hobby rollup behind the business dashboard, kept current by BusinessStatsAggregator. Reads join it
+-- to the business's hobbies only, so they never touch the client join tables.
+create table business_hobby_stats (
+    hobby_id bigint not null,
+    saves bigint not null default 0,
+    saves_this_week bigint not null default 0,
+    saves_last_week bigint not null default 0,
+    match_appearances bigint not null default 0,
+    unique_viewers bigint not null default 0,
+    refreshed_at timestamp(6) with time zone not null default now(),
+    primary key (hobby_id)
+);
@@ -0,0 +1,5 @@
+-- Registration inserts without checking first and relies on the unique constraints for duplicates, so the
+-- business name gets one like username and email. The constraint's index replaces the plain lookup index.
+alter table business_owners add constraint business_owners_business_name_key unique (business_name);
+
+drop index if exists idx_business_owners_business_name;
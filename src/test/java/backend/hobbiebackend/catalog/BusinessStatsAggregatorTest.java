@@ -0,0 +1,103 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BusinessStatsAggregatorTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 12);
+    private static final LocalDate WEEK_START = TODAY.minusDays(6);
+
+    private final HobbyRepository hobbyRepository = mock(HobbyRepository.class);
+    private final Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    private BusinessStatsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        this.aggregator = new BusinessStatsAggregator(this.hobbyRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), this.clock, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void onlyDirtyHobbiesAreRecomputedInBatches() {
+        this.aggregator.markDirty(List.of(1L, 2L, 3L));
+        this.aggregator.markDirty(List.of(2L));
+
+        this.aggregator.refreshDirty();
+        verify(this.hobbyRepository, times(2)).refreshBusinessStats(any(), eq(WEEK_START));
+
+        // Nothing marked since
+        this.aggregator.refreshDirty();
+        verify(this.hobbyRepository, times(2)).refreshBusinessStats(any(), any());
+    }
+
+    @Test
+    void hobbiesAreMarkedOnlyOnceTheirTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.aggregator.markDirtyAfterCommit(List.of(1L));
+        this.aggregator.refreshDirty();
+        verify(this.hobbyRepository, never()).refreshBusinessStats(any(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        this.aggregator.refreshDirty();
+        verify(this.hobbyRepository).refreshBusinessStats(List.of(1L), WEEK_START);
+    }
+
+    @Test
+    void failedBatchIsRetriedWithTheNextRun() {
+        doThrow(new IllegalStateException("database down"))
+                .doNothing()
+                .when(this.hobbyRepository).refreshBusinessStats(List.of(1L), WEEK_START);
+        this.aggregator.markDirty(List.of(1L));
+
+        this.aggregator.refreshDirty();
+        this.aggregator.refreshDirty();
+        verify(this.hobbyRepository, times(2)).refreshBusinessStats(List.of(1L), WEEK_START);
+    }
+
+    @Test
+    void fullPassWalksEveryHobbyAndStoresViewerEstimates() {
+        HyperLogLog sketch = new HyperLogLog();
+        sketch.offer(HyperLogLog.hash("alice"));
+        sketch.offer(HyperLogLog.hash("bob"));
+        when(this.hobbyRepository.findHobbyIdsAfter(0, 2)).thenReturn(List.of(1L, 2L));
+        when(this.hobbyRepository.findHobbyIdsAfter(2, 2)).thenReturn(List.of(5L));
+        when(this.hobbyRepository.findHobbyIdsAfter(5, 2)).thenReturn(List.of());
+        when(this.hobbyRepository.findViewerSketches(List.of(1L, 2L))).thenReturn(Map.of(2L, sketch.toBytes()));
+        when(this.hobbyRepository.findViewerSketches(List.of(5L))).thenReturn(Map.of());
+
+        this.aggregator.refreshAll();
+
+        verify(this.hobbyRepository).refreshBusinessStats(List.of(1L, 2L), WEEK_START);
+        verify(this.hobbyRepository).refreshBusinessStats(List.of(5L), WEEK_START);
+        verify(this.hobbyRepository).updateUniqueViewers(Map.of(2L, 2L));
+        verify(this.hobbyRepository, times(1)).updateUniqueViewers(anyMap());
+        verify(this.hobbyRepository).deleteOrphanedBusinessStats();
+    }
+}
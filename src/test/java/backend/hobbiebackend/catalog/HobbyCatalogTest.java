@@ -0,0 +1,162 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.dto.HobbyVersionDto;
+import backend.hobbiebackend.model.entities.Category;
+import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.Location;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HobbyCatalogTest {
+    private final HobbyRepository hobbyRepository = mock(HobbyRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HobbyCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        when(this.hobbyRepository.findCatalog()).thenReturn(List.of(
+                hobby(1L, "alpine", CategoryNameEnum.ACTIVE, LocationEnum.ZURICH, 0L),
+                hobby(2L, "alpine", CategoryNameEnum.RELAX, LocationEnum.BERN, 3L),
+                hobby(3L, "studio", CategoryNameEnum.ACTIVE, LocationEnum.ZURICH, 1L)));
+        this.catalog = new HobbyCatalog(this.hobbyRepository, this.meterRegistry, true);
+        this.catalog.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void loadIndexesEveryHobby() {
+        assertTrue(this.catalog.isReady());
+        assertEquals("alpine 2", this.catalog.find(2L).orElseThrow().toHobby().getName());
+        assertEquals(List.of(1L, 2L), ids(this.catalog.findByCreator("alpine")));
+        assertEquals(List.of(1L, 3L), ids(this.catalog.findByLocation(LocationEnum.ZURICH)));
+        assertEquals(List.of(1L, 3L), ids(this.catalog.findByCategory(CategoryNameEnum.ACTIVE)));
+        assertTrue(this.catalog.findByCreator("nobody").isEmpty());
+        assertTrue(this.catalog.findByLocation(null).isEmpty());
+    }
+
+    @Test
+    void handsOutCopies() {
+        Hobby first = this.catalog.find(1L).orElseThrow().toHobby();
+        first.setName("changed by a caller");
+        Hobby second = this.catalog.find(1L).orElseThrow().toHobby();
+
+        assertNotSame(first, second);
+        assertEquals("alpine 1", second.getName());
+        assertEquals(CategoryNameEnum.ACTIVE, second.getCategory().getName());
+    }
+
+    @Test
+    void writesApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.catalog.putAfterCommit(hobby(4L, "studio", CategoryNameEnum.FUN, LocationEnum.ZUG, 0L));
+        this.catalog.removeAfterCommit(1L);
+        assertFalse(this.catalog.find(4L).isPresent());
+        assertTrue(this.catalog.find(1L).isPresent());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertTrue(this.catalog.find(4L).isPresent());
+        assertFalse(this.catalog.find(1L).isPresent());
+        assertEquals(List.of(3L, 4L), ids(this.catalog.findByCreator("studio")));
+        assertEquals(List.of(3L), ids(this.catalog.findByLocation(LocationEnum.ZURICH)));
+    }
+
+    @Test
+    void updatesMoveEntriesBetweenIndexesAndIgnoreOlderVersions() {
+        this.catalog.putAfterCommit(hobby(1L, "alpine", CategoryNameEnum.FUN, LocationEnum.LUZERN, 1L));
+        assertEquals(List.of(3L), ids(this.catalog.findByCategory(CategoryNameEnum.ACTIVE)));
+        assertEquals(List.of(1L), ids(this.catalog.findByLocation(LocationEnum.LUZERN)));
+
+        this.catalog.putAfterCommit(hobby(2L, "alpine", CategoryNameEnum.OTHER, LocationEnum.BERN, 2L));
+        assertEquals(3L, this.catalog.find(2L).orElseThrow().getVersion());
+        assertEquals(CategoryNameEnum.RELAX, this.catalog.find(2L).orElseThrow().getCategory());
+    }
+
+    @Test
+    void removingACreatorDropsAllOffers() {
+        this.catalog.removeCreatorAfterCommit("alpine");
+
+        assertTrue(this.catalog.findByCreator("alpine").isEmpty());
+        assertFalse(this.catalog.find(2L).isPresent());
+        assertEquals(List.of(3L), ids(this.catalog.findByLocation(LocationEnum.ZURICH)));
+    }
+
+    @Test
+    void verifyRebuildsOnlyWhenTheDatabaseDiffers() {
+        when(this.hobbyRepository.findAllVersions()).thenReturn(List.of(
+                new HobbyVersionDto(1L, 0L, Instant.EPOCH),
+                new HobbyVersionDto(2L, 3L, Instant.EPOCH),
+                new HobbyVersionDto(3L, 1L, Instant.EPOCH)));
+        this.catalog.verify();
+        verify(this.hobbyRepository, times(1)).findCatalog();
+
+        // Row 3 was changed and row 5 inserted behind the catalog's back
+        when(this.hobbyRepository.findAllVersions()).thenReturn(List.of(
+                new HobbyVersionDto(1L, 0L, Instant.EPOCH),
+                new HobbyVersionDto(2L, 3L, Instant.EPOCH),
+                new HobbyVersionDto(3L, 2L, Instant.EPOCH),
+                new HobbyVersionDto(5L, 0L, Instant.EPOCH)));
+        when(this.hobbyRepository.findCatalog()).thenReturn(List.of(
+                hobby(1L, "alpine", CategoryNameEnum.ACTIVE, LocationEnum.ZURICH, 0L),
+                hobby(2L, "alpine", CategoryNameEnum.RELAX, LocationEnum.BERN, 3L),
+                hobby(3L, "studio", CategoryNameEnum.ACTIVE, LocationEnum.ZURICH, 2L),
+                hobby(5L, "studio", CategoryNameEnum.SOCIAL, LocationEnum.ZUG, 0L)));
+        this.catalog.verify();
+
+        verify(this.hobbyRepository, times(2)).findCatalog();
+        assertEquals(2.0, this.meterRegistry.get("hobbie.catalog.drift").counter().count());
+        assertEquals(2L, this.catalog.find(3L).orElseThrow().getVersion());
+        assertTrue(this.catalog.find(5L).isPresent());
+    }
+
+    @Test
+    void disabledCatalogIsNeverReady() {
+        HobbyCatalog disabled = new HobbyCatalog(this.hobbyRepository, new SimpleMeterRegistry(), false);
+        disabled.load();
+        disabled.putAfterCommit(hobby(9L, "studio", CategoryNameEnum.FUN, LocationEnum.ZUG, 0L));
+
+        assertFalse(disabled.isReady());
+        assertFalse(disabled.find(9L).isPresent());
+    }
+
+    private static List<Long> ids(List<HobbyCatalogEntry> entries) {
+        return entries.stream().map(HobbyCatalogEntry::getId).sorted().toList();
+    }
+
+    private static Hobby hobby(Long id, String creator, CategoryNameEnum category, LocationEnum location, Long version) {
+        Hobby hobby = new Hobby();
+        hobby.setId(id);
+        hobby.setName(creator + " " + id);
+        hobby.setCreator(creator);
+        hobby.setPrice(BigDecimal.TEN);
+        hobby.setCategory(new Category(category));
+        hobby.setLocation(new Location(location));
+        hobby.setVersion(version);
+        hobby.setModifiedAt(Instant.EPOCH);
+        return hobby;
+    }
+}
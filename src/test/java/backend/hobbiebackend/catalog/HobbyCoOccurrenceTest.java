@@ -0,0 +1,147 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.repostiory.AppClientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HobbyCoOccurrenceTest {
+    private final AppClientRepository appClientRepository = mock(AppClientRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private HobbyCoOccurrence coOccurrence;
+
+    @BeforeEach
+    void setUp() {
+        // Client 1 saved 10, 20, 30; client 2 saved 10, 20; client 3 saved 20, 40
+        when(this.appClientRepository.streamSavedPairs()).thenReturn(Stream.of(
+                pair(1, 10), pair(1, 20), pair(1, 30),
+                pair(2, 10), pair(2, 20),
+                pair(3, 20), pair(3, 40)));
+        this.coOccurrence = new HobbyCoOccurrence(this.appClientRepository, this.transactionManager,
+                new SimpleMeterRegistry(), true, 2);
+        this.coOccurrence.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void loadCountsSharedSavesAndKeepsTheTopEntries() {
+        // Row 20 counted 10:2, 30:1 and 40:1 before it was cut to two entries
+        assertEquals(List.of("10:2", "30:1"), ranking(20L));
+        assertEquals(List.of("20:2", "30:1"), ranking(10L));
+        assertEquals(List.of("20:1"), ranking(40L));
+        assertEquals(List.of(), ranking(99L));
+    }
+
+    @Test
+    void loadReadsInAReadWriteTransaction() {
+        // Read-only transactions may be routed to a replica that misses saves committed just before startup
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(this.transactionManager).getTransaction(definition.capture());
+        assertFalse(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    void savesAndUnsavesApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.coOccurrence.savedAfterCommit(40L, List.of(10L, 20L));
+        assertEquals(List.of("20:1"), ranking(40L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clear();
+
+        assertEquals(List.of("20:2", "10:1"), ranking(40L));
+        assertEquals(List.of("20:2", "30:1"), ranking(10L));
+
+        this.coOccurrence.unsavedAfterCommit(40L, List.of(10L, 20L));
+        this.coOccurrence.unsavedAfterCommit(40L, List.of(20L));
+        assertEquals(List.of(), ranking(40L));
+        assertEquals(List.of("10:2", "30:1"), ranking(20L));
+    }
+
+    @Test
+    void removingAHobbyDropsItFromEveryRow() {
+        this.coOccurrence.removeAfterCommit(10L);
+
+        assertEquals(List.of(), ranking(10L));
+        assertEquals(List.of("30:1"), ranking(20L));
+        assertEquals(List.of("20:1"), ranking(30L));
+    }
+
+    @Test
+    void pruneKeepsOnlyTheTopEntriesOfEachRow() {
+        this.coOccurrence.savedAfterCommit(50L, List.of(10L, 20L, 30L));
+        this.coOccurrence.savedAfterCommit(60L, List.of(10L));
+        this.coOccurrence.prune();
+
+        // Row 10 held 20:2, 30:1, 50:1, 60:1; ties keep the smaller ids
+        this.coOccurrence.unsavedAfterCommit(20L, List.of(10L));
+        this.coOccurrence.unsavedAfterCommit(20L, List.of(10L));
+        assertEquals(List.of("30:1"), ranking(10L));
+    }
+
+    @Test
+    void disabledIndexHasNoRelatedHobbies() {
+        HobbyCoOccurrence disabled = new HobbyCoOccurrence(this.appClientRepository,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), false, 2);
+        disabled.load();
+        disabled.savedAfterCommit(10L, List.of(20L));
+
+        assertEquals(0, disabled.findRelated(10L).size());
+    }
+
+    @Test
+    void mapGrowsAndShrinksWithoutLosingKeys() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 1; key <= 1000; key++) {
+            map.add(key, (int) (key % 7) + 1);
+        }
+        for (long key = 1; key <= 1000; key += 2) {
+            map.add(key, -100);
+        }
+        assertEquals(500, map.size());
+        for (long key = 2; key <= 1000; key += 2) {
+            assertEquals((int) (key % 7) + 1, map.get(key));
+        }
+        assertEquals(0, map.get(999L));
+
+        assertEquals(497, map.retainTop(3));
+        long[] keys = new long[3];
+        int[] counts = new int[3];
+        map.top(3, keys, counts);
+        assertEquals(List.of(6L, 20L, 34L), List.of(keys[0], keys[1], keys[2]));
+        assertEquals(7, counts[2]);
+    }
+
+    private List<String> ranking(long hobbyId) {
+        RelatedHobbies related = this.coOccurrence.findRelated(hobbyId);
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < related.size(); i++) {
+            entries.add(related.idAt(i) + ":" + related.countAt(i));
+        }
+        return entries;
+    }
+
+    private static Object[] pair(long clientId, long hobbyId) {
+        return new Object[]{clientId, hobbyId};
+    }
+}
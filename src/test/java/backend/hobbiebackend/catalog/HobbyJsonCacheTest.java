@@ -0,0 +1,84 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.entities.Category;
+import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.Location;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HobbyJsonCacheTest {
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private HobbyCatalog catalog;
+    private HobbyJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        HobbyRepository hobbyRepository = mock(HobbyRepository.class);
+        when(hobbyRepository.findCatalog()).thenReturn(List.of(hobby(1L, 0L)));
+        this.catalog = new HobbyCatalog(hobbyRepository, new SimpleMeterRegistry(), true);
+        this.catalog.load();
+        this.cache = new HobbyJsonCache(this.catalog, this.objectMapper, new SimpleMeterRegistry(),
+                DataSize.ofMegabytes(1), true);
+    }
+
+    @Test
+    void hitsWhileTheCatalogHoldsTheSerializedVersion() throws IOException {
+        HobbyJson stored = this.cache.store(hobby(1L, 0L));
+
+        assertSame(stored, this.cache.find(1L));
+        assertEquals("Hobby 1", this.objectMapper.readTree(stored.getPlain()).get("name").asText());
+        assertArrayEquals(stored.getPlain(), new GZIPInputStream(new ByteArrayInputStream(stored.getGzipped())).readAllBytes());
+    }
+
+    @Test
+    void missesOnceTheCatalogMovesOnOrTheEntryIsInvalidated() {
+        this.cache.store(hobby(1L, 0L));
+        this.catalog.putAfterCommit(hobby(1L, 1L));
+        assertNull(this.cache.find(1L));
+
+        this.cache.store(hobby(1L, 1L));
+        this.cache.invalidate(1L);
+        assertNull(this.cache.find(1L));
+    }
+
+    @Test
+    void hobbiesUnknownToTheCatalogAreNotServedFromCache() {
+        this.cache.store(hobby(2L, 0L));
+        assertNull(this.cache.find(2L));
+    }
+
+    private static Hobby hobby(Long id, Long version) {
+        Hobby hobby = new Hobby();
+        hobby.setId(id);
+        hobby.setName("Hobby " + id);
+        hobby.setCreator("business");
+        hobby.setPrice(BigDecimal.TEN);
+        hobby.setCategory(new Category(CategoryNameEnum.ACTIVE));
+        hobby.setLocation(new Location(LocationEnum.ZURICH));
+        hobby.setVersion(version);
+        hobby.setModifiedAt(Instant.EPOCH);
+        return hobby;
+    }
+}
@@ -0,0 +1,138 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.dto.TrendingHobbyDto;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HobbySaveCountersTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 12);
+
+    private final HobbyRepository hobbyRepository = mock(HobbyRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    private HobbySaveCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        when(this.hobbyRepository.sumSaveCounts(LocalDate.EPOCH)).thenReturn(Map.of(1L, 40L, 2L, 5L));
+        when(this.hobbyRepository.sumSaveCounts(TODAY.minusDays(6))).thenReturn(Map.of(1L, 3L, 2L, 4L));
+        when(this.hobbyRepository.findTrending(TODAY.minusDays(6), 20)).thenReturn(List.of(
+                new TrendingHobbyDto(2L, LocationEnum.ZURICH, 4L),
+                new TrendingHobbyDto(1L, LocationEnum.ZURICH, 3L)));
+        this.counters = new HobbySaveCounters(this.hobbyRepository, mock(BusinessStatsAggregator.class),
+                this.transactionManager,
+                new SimpleMeterRegistry(), this.clock, 20, 60_000);
+        this.counters.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void countsAddWhatWasReadAndWhatWasCountedSince() {
+        assertEquals(List.of(2L, 1L), this.counters.trending(LocationEnum.ZURICH).stream()
+                .map(TrendingHobbyDto::getHobbyId).toList());
+        assertTrue(this.counters.trending(LocationEnum.BERN).isEmpty());
+
+        this.counters.recordAfterCommit(1L, 1);
+        this.counters.recordAfterCommit(1L, 1);
+        this.counters.recordAfterCommit(2L, -1);
+
+        assertEquals(42L, this.counters.totalSaves(1L));
+        assertEquals(5L, this.counters.savesThisWeek(1L));
+        assertEquals(4L, this.counters.totalSaves(2L));
+        assertEquals(0L, this.counters.totalSaves(3L));
+    }
+
+    @Test
+    void refreshReadsInAReadWriteTransaction() {
+        // A read-only transaction may be routed to a replica that has not replayed the flush before it
+        this.counters.recordAfterCommit(1L, 1);
+        this.counters.flushAndRefresh();
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(this.transactionManager, times(2)).getTransaction(definitions.capture());
+        definitions.getAllValues().forEach(definition -> assertFalse(definition.isReadOnly()));
+    }
+
+    @Test
+    void onlyCommittedSavesAreCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.counters.recordAfterCommit(1L, 1);
+        assertEquals(40L, this.counters.totalSaves(1L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(41L, this.counters.totalSaves(1L));
+    }
+
+    @Test
+    void flushWritesNetDeltasForTodayAndKeepsThemCountedUntilTheNextRead() {
+        this.counters.recordAfterCommit(1L, 1);
+        this.counters.recordAfterCommit(2L, 1);
+        this.counters.recordAfterCommit(2L, -1);
+
+        this.counters.flush();
+        verify(this.hobbyRepository).addSaveCounts(Map.of(1L, 1L), TODAY);
+        assertEquals(41L, this.counters.totalSaves(1L));
+
+        // Nothing new to write
+        this.counters.flush();
+        verify(this.hobbyRepository, times(1)).addSaveCounts(any(), any());
+
+        when(this.hobbyRepository.sumSaveCounts(LocalDate.EPOCH)).thenReturn(Map.of(1L, 41L, 2L, 5L));
+        this.counters.refresh();
+        assertEquals(41L, this.counters.totalSaves(1L));
+    }
+
+    @Test
+    void failedFlushKeepsTheDeltasForTheNextOne() {
+        this.counters.recordAfterCommit(1L, 1);
+        doThrow(new IllegalStateException("database down"))
+                .when(this.hobbyRepository).addSaveCounts(Map.of(1L, 1L), TODAY);
+
+        this.counters.flush();
+        assertEquals(41L, this.counters.totalSaves(1L));
+
+        this.counters.recordAfterCommit(1L, 1);
+        this.counters.flush();
+        verify(this.hobbyRepository).addSaveCounts(Map.of(1L, 2L), TODAY);
+    }
+
+    @Test
+    void refreshWaitsForTheInterval() {
+        this.counters.flushAndRefresh();
+
+        verify(this.hobbyRepository, times(1)).findTrending(eq(TODAY.minusDays(6)), eq(20));
+        verify(this.hobbyRepository, never()).addSaveCounts(any(), any());
+    }
+}
@@ -0,0 +1,104 @@
+package backend.hobbiebackend.catalog;
+
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HobbyViewersTest {
+    private final HobbyRepository hobbyRepository = mock(HobbyRepository.class);
+    private HobbyViewers viewers;
+
+    @BeforeEach
+    void setUp() {
+        when(this.hobbyRepository.findViewerSketch(anyLong())).thenReturn(Optional.empty());
+        this.viewers = new HobbyViewers(this.hobbyRepository, mock(BusinessStatsAggregator.class),
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void estimatesStayWithinTheErrorBound() {
+        for (int distinct : new int[]{10, 1_000, 100_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < distinct; i++) {
+                sketch.offer(HyperLogLog.hash("user" + i));
+                sketch.offer(HyperLogLog.hash("user" + i));
+            }
+            double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+            assertTrue(error <= 3 * HyperLogLog.RELATIVE_STANDARD_ERROR, distinct + " estimated as " + sketch.estimate());
+        }
+    }
+
+    @Test
+    void mergingIsIdempotentAndSurvivesStorage() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 5_000; i++) {
+            first.offer(HyperLogLog.hash("user" + i));
+            second.offer(HyperLogLog.hash("user" + (i + 2_500)));
+        }
+        HyperLogLog union = HyperLogLog.fromBytes(first.toBytes());
+        union.merge(second);
+        long estimate = union.estimate();
+        union.merge(second);
+
+        assertEquals(estimate, union.estimate());
+        assertTrue(Math.abs(estimate - 7_500) <= 7_500 * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR);
+        assertArrayEquals(new HyperLogLog().toBytes(), HyperLogLog.fromBytes(new byte[0]).toBytes());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushMergesIntoTheStoredSketchAndReadsIncludeUnflushedViews() {
+        HyperLogLog stored = new HyperLogLog();
+        stored.offer(HyperLogLog.hash("alice"));
+        when(this.hobbyRepository.lockViewerSketches(List.of(1L))).thenReturn(Map.of(1L, stored.toBytes()));
+
+        this.viewers.recordView(1L, "alice");
+        this.viewers.recordView(1L, "bob");
+        this.viewers.recordView(1L, "bob");
+        assertEquals(2, this.viewers.findViewers(1L).getUniqueViewers());
+
+        this.viewers.flush();
+        ArgumentCaptor<Map<Long, byte[]>> written = ArgumentCaptor.forClass(Map.class);
+        verify(this.hobbyRepository).updateViewerSketches(written.capture());
+        assertEquals(2, HyperLogLog.fromBytes(written.getValue().get(1L)).estimate());
+
+        // Flushed views are no longer held in memory
+        assertEquals(0, this.viewers.findViewers(1L).getUniqueViewers());
+        when(this.hobbyRepository.findViewerSketch(1L)).thenReturn(Optional.of(written.getValue().get(1L)));
+        this.viewers.recordView(1L, "carol");
+        assertEquals(3, this.viewers.findViewers(1L).getUniqueViewers());
+    }
+
+    @Test
+    void failedFlushKeepsTheViews() {
+        when(this.hobbyRepository.lockViewerSketches(any())).thenReturn(Map.of());
+        doThrow(new IllegalStateException("database down")).when(this.hobbyRepository).updateViewerSketches(any());
+        this.viewers.recordView(1L, "alice");
+
+        this.viewers.flush();
+        assertEquals(1, this.viewers.findViewers(1L).getUniqueViewers());
+
+        this.viewers.flush();
+        verify(this.hobbyRepository, times(2)).updateViewerSketches(any());
+    }
+}
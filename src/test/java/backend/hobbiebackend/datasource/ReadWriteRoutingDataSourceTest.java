@@ -0,0 +1,134 @@
+package backend.hobbiebackend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private RecentWriters recentWriters;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        recentWriters = new RecentWriters(5000, now::get);
+        lagMonitor = new ReplicaLagMonitor(replica, "select 0", 1000, recentWriters, meterRegistry);
+        lagMonitor.update(0);
+        routing = new ReadWriteRoutingDataSource(primary, replica, lagMonitor, recentWriters, meterRegistry);
+        routing.afterPropertiesSet();
+        TransactionSynchronizationManager.initSynchronization();
+        authenticateAs("user");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void readsFollowingOwnCommittedWriteStayOnPrimaryUntilTheWindowPasses() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routing.getConnection();
+        commit();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+
+        authenticateAs("someone_else");
+        assertSame(replicaConnection, routing.getConnection());
+
+        authenticateAs("user");
+        now.addAndGet(5000);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinReadsToPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routing.getConnection();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void lagBeyondToleranceRoutesReadsToPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        lagMonitor.update(1500);
+        assertFalse(lagMonitor.isWithinTolerance());
+        assertSame(primaryConnection, routing.getConnection());
+
+        lagMonitor.update(200);
+        assertTrue(lagMonitor.isWithinTolerance());
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        assertSame(primaryConnection, routing.getConnection());
+
+        lagMonitor.refresh();
+        assertFalse(lagMonitor.isWithinTolerance());
+    }
+
+    @Test
+    void pruneForgetsWritersOutsideTheWindow() {
+        recentWriters.recordWrite("user:user");
+        now.addAndGet(6000);
+        recentWriters.prune();
+        assertSame(0, recentWriters.size());
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
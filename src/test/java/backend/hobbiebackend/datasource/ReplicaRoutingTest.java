@@ -0,0 +1,101 @@
+package backend.hobbiebackend.datasource;
+
+import backend.hobbiebackend.model.entities.AppClient;
+import backend.hobbiebackend.model.entities.enums.GenderEnum;
+import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
+import backend.hobbiebackend.model.repostiory.AppClientRepository;
+import backend.hobbiebackend.model.repostiory.UserCredentialsRepository;
+import backend.hobbiebackend.security.UsernameAllocator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs with the routing data source on, the replica pool pointing at the test database. Reads that must see
+ * rows committed a moment ago have to go to the primary even though their repository is read-only.
+ * Not transactional: inside a test transaction every statement shares the connection the transaction opened.
+ */
+@SpringBootTest(properties = {
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=${spring.datasource.url}",
+        "datasource.replica.lag-query=select 0",
+        "datasource.replica.lag-check-interval-ms=100",
+        // A failed insert never pins the requester, so the fixture's commit must not either
+        "datasource.replica.read-your-writes-window-ms=0",
+        "hobby.catalog.enabled=false",
+        // Scheduled reads would otherwise be counted as replica reads of the test
+        "hobby.trending.refresh-interval-ms=3600000",
+        "business-stats.refresh-interval-ms=3600000"
+})
+class ReplicaRoutingTest {
+    private static final String USERNAME = "routing_client";
+
+    @Autowired
+    private UsernameAllocator usernameAllocator;
+    @Autowired
+    private UserCredentialsRepository userCredentialsRepository;
+    @Autowired
+    private AppClientRepository appClientRepository;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private S3Client s3Client;
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    private AppClient client;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        client = appClientRepository.save(new AppClient(USERNAME, USERNAME + "@example.com",
+                EnumSet.of(UserRoleEnum.USER), "not-a-password", "Routing Client", GenderEnum.OTHER));
+        for (int i = 0; i < 50 && !replicaLagMonitor.isWithinTolerance(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(replicaLagMonitor.isWithinTolerance(), "replica never became available");
+    }
+
+    @AfterEach
+    void tearDown() {
+        appClientRepository.delete(client);
+    }
+
+    @Test
+    void plainReadOnlyLookupsUseTheReplica() {
+        double before = replicaReads();
+        assertTrue(userCredentialsRepository.findByEmail(USERNAME + "@example.com").isPresent());
+        assertEquals(before + 1, replicaReads());
+    }
+
+    @Test
+    void usernameAllocationReadsThePrimary() {
+        double before = replicaReads();
+        assertEquals(USERNAME + "1", usernameAllocator.allocate(USERNAME + "@example.org"));
+        assertEquals(before, replicaReads());
+    }
+
+    @Test
+    void lostEmailRaceFallbackReadsThePrimary() {
+        double before = replicaReads();
+        assertTrue(userCredentialsRepository.findCommittedByEmail(USERNAME + "@example.com").isPresent());
+        assertEquals(before, replicaReads());
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("hobbie.datasource.route").tag("target", "replica").counter().count();
+    }
+}
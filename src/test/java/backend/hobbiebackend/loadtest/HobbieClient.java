@@ -0,0 +1,183 @@
+package backend.hobbiebackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One virtual user's view of the API. Every call is timed into the shared report under its endpoint name.
+ */
+class HobbieClient {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String[] IMAGE_PARTS = {"profileImg", "galleryImg1", "galleryImg2", "galleryImg3"};
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final LatencyReport report;
+    private final byte[] image;
+    private String token;
+
+    HobbieClient(HttpClient http, String baseUrl, LatencyReport report, byte[] image) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.report = report;
+        this.image = image;
+    }
+
+    void signup(String username, String password) throws Exception {
+        postJson("POST /signup", "/signup", Map.of("username", username, "fullName", "Load " + username,
+                "gender", "OTHER", "email", username + "@loadtest.local", "password", password));
+    }
+
+    // A second signup for a username that exists; succeeds when it is answered with 409
+    void signupTaken(String username, String password) throws Exception {
+        send("POST /signup (taken)", builder("/signup")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(Map.of("username", username,
+                        "fullName", "Load " + username, "gender", "OTHER",
+                        "email", "other_" + username + "@loadtest.local", "password", password)))), 409);
+    }
+
+    void register(String username, String password) throws Exception {
+        postJson("POST /register", "/register", Map.of("username", username, "businessName", "Load " + username,
+                "address", "Load Street 1", "email", username + "@loadtest.local", "password", password));
+    }
+
+    void authenticate(String username, String password) throws Exception {
+        JsonNode response = postJson("POST /authenticate", "/authenticate",
+                Map.of("username", username, "password", password));
+        this.token = response == null ? null : response.path("jwtToken").asText(null);
+    }
+
+    void requestPasswordReset(String username) throws Exception {
+        send("POST /notification", builder("/notification?email=" + encode(username + "@loadtest.local"))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    String submitTest(String username, String location, String... categories) throws Exception {
+        String[] fields = {"categoryOne", "categoryTwo", "categoryThree", "categoryFour", "categoryFive", "categorySix"};
+        StringBuilder json = new StringBuilder("{\"username\":\"").append(username)
+                .append("\",\"location\":\"").append(location).append('"');
+        for (int i = 0; i < categories.length && i < fields.length; i++) {
+            json.append(",\"").append(fields[i]).append("\":\"").append(categories[i]).append('"');
+        }
+        json.append('}');
+        JsonNode job = send("POST /test", builder("/test")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.toString())));
+        return job == null ? null : job.path("id").asText(null);
+    }
+
+    // Polls the match job until it finishes, so that the following /home sees the new matches
+    void awaitMatchJob(String jobId) throws Exception {
+        if (jobId == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            JsonNode job = send("GET /test/jobs/{id}", builder("/test/jobs/" + jobId).GET());
+            String status = job == null ? "FAILED" : job.path("status").asText();
+            if (status.equals("DONE") || status.equals("FAILED")) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    void home(String username, String role) throws Exception {
+        send("GET /home", builder("/home?username=" + encode(username) + "&role=" + role).GET());
+    }
+
+    void saveHobby(long hobbyId, String username) throws Exception {
+        send("POST /hobbies/save", builder("/hobbies/save?id=" + hobbyId + "&username=" + encode(username))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    void removeHobby(long hobbyId, String username) throws Exception {
+        send("DELETE /hobbies/remove", builder("/hobbies/remove?id=" + hobbyId + "&username=" + encode(username))
+                .DELETE());
+    }
+
+    Long createHobby(String creator, String category, String location) throws Exception {
+        String boundary = "----hobbie" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        Map<String, String> fields = Map.of("name", "Load hobby " + UUID.randomUUID(), "slogan", "Try it",
+                "intro", "Generated by the load test", "description", "Generated by the load test",
+                "category", category, "creator", creator, "price", "25", "location", location,
+                "contactInfo", creator + "@loadtest.local");
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey()
+                    + "\"\r\n\r\n" + field.getValue() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        for (String part : IMAGE_PARTS) {
+            body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + part
+                    + "\"; filename=\"" + part + ".png\"\r\nContent-Type: image/png\r\n\r\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(this.image);
+            body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        JsonNode hobby = send("POST /hobbies", builder("/hobbies")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())));
+        return hobby == null || !hobby.has("id") ? null : hobby.get("id").asLong();
+    }
+
+    private JsonNode postJson(String endpoint, String path, Map<String, String> payload) throws Exception {
+        return send(endpoint, builder(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(payload))));
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+                .timeout(Duration.ofSeconds(60));
+        if (this.token != null) {
+            builder.header("Authorization", "Bearer " + this.token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request) throws Exception {
+        return send(endpoint, request, 0);
+    }
+
+    // expectedStatus 0 accepts any 2xx
+    private JsonNode send(String endpoint, HttpRequest.Builder request, int expectedStatus) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = this.http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            this.report.recordFailure(endpoint, System.nanoTime() - start, e.toString());
+            return null;
+        }
+        long elapsed = System.nanoTime() - start;
+        boolean expected = expectedStatus == 0 ? response.statusCode() < 300 : response.statusCode() == expectedStatus;
+        if (!expected) {
+            this.report.recordFailure(endpoint, elapsed, response.statusCode() + " " + response.body());
+            return null;
+        }
+        this.report.record(endpoint, elapsed, true);
+        if (!response.body().startsWith("{")) {
+            return null;
+        }
+        return MAPPER.readTree(response.body());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,231 @@
+package backend.hobbiebackend.loadtest;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end throughput run, excluded from the default build. Run with {@code mvn -P load-test test}.
+ * <p>
+ * The application boots on a random port against an embedded PostgreSQL (or {@code -Dloadtest.jdbc-url}),
+ * an in-process S3 stand-in and a GreenMail SMTP server. Virtual users then replay client sessions
+ * (signup, authenticate, quiz submission, home feed, save/unsave) and business sessions (register,
+ * authenticate, hobby creation with four images). Tunables, as system properties:
+ * loadtest.users, loadtest.iterations, loadtest.business-share, loadtest.seed-hobbies, loadtest.image-kb,
+ * loadtest.max-error-rate.
+ * <p>
+ * {@link #signups()} measures registration alone: every virtual user signs up loadtest.signups new clients
+ * back to back, and every tenth attempt reuses a username that already exists and must get a 409.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Here rather than in the dynamic properties, which are only added after logging is configured
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.backend.hobbiebackend=WARN"
+})
+public class HobbieLoadTest {
+    private static final String PASSWORD = "loadtest-secret";
+    private static final String[] LOCATIONS = {"ZURICH", "BERN", "LUZERN", "ZUG"};
+    private static final String[] CATEGORIES = {"ACTIVE", "FUN", "CREATIVE", "RELAX", "INTELLECTUAL", "SOCIAL", "OTHER"};
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 16);
+    private static final int ITERATIONS = Integer.getInteger("loadtest.iterations", 5);
+    private static final double BUSINESS_SHARE = Double.parseDouble(System.getProperty("loadtest.business-share", "0.2"));
+    private static final int SEED_HOBBIES = Integer.getInteger("loadtest.seed-hobbies", 20);
+    private static final int IMAGE_KB = Integer.getInteger("loadtest.image-kb", 64);
+    private static final int SIGNUPS = Integer.getInteger("loadtest.signups", 50);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    private static EmbeddedPostgres postgres;
+    private static S3StandIn s3;
+    private static GreenMail smtp;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) throws Exception {
+        String jdbcUrl = System.getProperty("loadtest.jdbc-url");
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        s3 = new S3StandIn();
+        smtp = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        smtp.setUser("load-test", "load-test");
+        smtp.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(HobbieLoadTest::stopStandIns));
+
+        String url = jdbcUrl;
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> System.getProperty("loadtest.jdbc-user", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("loadtest.jdbc-password", ""));
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> Math.max(10, USERS));
+        registry.add("aws.s3.endpoint", s3::endpoint);
+        registry.add("aws.access.key.id", () -> "load-test");
+        registry.add("aws.secret.access.key", () -> "load-test");
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", () -> smtp.getSmtp().getPort());
+        registry.add("spring.mail.username", () -> "load-test");
+        registry.add("spring.mail.password", () -> "load-test");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.required", () -> "false");
+        registry.add("spring.security.oauth2.client.registration.google.client-id", () -> "load-test");
+        registry.add("spring.security.oauth2.client.registration.google.client-secret", () -> "load-test");
+    }
+
+    @Test
+    void run() throws Exception {
+        HttpClient http = HttpClient.newBuilder().executor(Executors.newCachedThreadPool()).build();
+        String baseUrl = "http://127.0.0.1:" + this.port;
+        byte[] image = new byte[IMAGE_KB * 1024];
+        ThreadLocalRandom.current().nextBytes(image);
+
+        // Seed hobbies in every location so quiz matches and saves have targets; not part of the report.
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        LatencyReport seeding = new LatencyReport();
+        HobbieClient seeder = new HobbieClient(http, baseUrl, seeding, image);
+        String seedBusiness = "seed_" + runId;
+        seeder.register(seedBusiness, PASSWORD);
+        seeder.authenticate(seedBusiness, PASSWORD);
+        List<Long> hobbyIds = new ArrayList<>();
+        for (int i = 0; i < SEED_HOBBIES; i++) {
+            Long id = seeder.createHobby(seedBusiness, CATEGORIES[i % CATEGORIES.length], LOCATIONS[i % LOCATIONS.length]);
+            if (id != null) {
+                hobbyIds.add(id);
+            }
+        }
+        assertFalse(hobbyIds.isEmpty(), () -> "Seeding hobbies failed:\n" + seeding.format(1));
+
+        LatencyReport report = new LatencyReport();
+        ExecutorService users = Executors.newFixedThreadPool(USERS);
+        List<Future<?>> sessions = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int user = 0; user < USERS; user++) {
+            HobbieClient client = new HobbieClient(http, baseUrl, report, image);
+            String username = "load_" + runId + "_" + user;
+            boolean business = user < Math.round(USERS * BUSINESS_SHARE);
+            sessions.add(users.submit(() -> {
+                if (business) {
+                    runBusiness(client, username);
+                } else {
+                    runClient(client, username, hobbyIds);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> session : sessions) {
+            session.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        users.shutdown();
+        users.awaitTermination(1, TimeUnit.MINUTES);
+
+        System.out.printf("%nLoad test: %d users x %d iterations (%.0f%% business), %.1f s%n%s",
+                USERS, ITERATIONS, BUSINESS_SHARE * 100, elapsed / 1e9, report.format(elapsed));
+        System.out.printf("S3 stand-in: %d objects, %d bytes; SMTP stand-in: %d messages%n",
+                s3.objectCount(), s3.bytesReceived(), smtp.getReceivedMessages().length);
+        report.writeCsv(Path.of("target", "load-test", "report.csv"), elapsed);
+
+        double errorRate = (double) report.totalErrors() / Math.max(1, report.totalRequests());
+        assertTrue(errorRate <= MAX_ERROR_RATE,
+                String.format("Error rate %.2f%% exceeds %.2f%%", errorRate * 100, MAX_ERROR_RATE * 100));
+    }
+
+    @Test
+    void signups() throws Exception {
+        HttpClient http = HttpClient.newBuilder().executor(Executors.newCachedThreadPool()).build();
+        String baseUrl = "http://127.0.0.1:" + this.port;
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        LatencyReport report = new LatencyReport();
+        ExecutorService users = Executors.newFixedThreadPool(USERS);
+        List<Future<?>> sessions = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int user = 0; user < USERS; user++) {
+            HobbieClient client = new HobbieClient(http, baseUrl, report, new byte[0]);
+            String prefix = "signup_" + runId + "_" + user + "_";
+            sessions.add(users.submit(() -> {
+                for (int i = 0; i < SIGNUPS; i++) {
+                    if (i % 10 == 9) {
+                        client.signupTaken(prefix + 0, PASSWORD);
+                    } else {
+                        client.signup(prefix + i, PASSWORD);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> session : sessions) {
+            session.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        users.shutdown();
+        users.awaitTermination(1, TimeUnit.MINUTES);
+
+        System.out.printf("%nSignup run: %d users x %d signups, %.1f s%n%s",
+                USERS, SIGNUPS, elapsed / 1e9, report.format(elapsed));
+        report.writeCsv(Path.of("target", "load-test", "signups.csv"), elapsed);
+
+        double errorRate = (double) report.totalErrors() / Math.max(1, report.totalRequests());
+        assertTrue(errorRate <= MAX_ERROR_RATE,
+                String.format("Error rate %.2f%% exceeds %.2f%%", errorRate * 100, MAX_ERROR_RATE * 100));
+    }
+
+    private void runClient(HobbieClient client, String username, List<Long> hobbyIds) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        client.signup(username, PASSWORD);
+        client.requestPasswordReset(username);
+        for (int i = 0; i < ITERATIONS; i++) {
+            client.authenticate(username, PASSWORD);
+            String matchJob = client.submitTest(username, LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            client.awaitMatchJob(matchJob);
+            client.home(username, "user");
+            long hobbyId = hobbyIds.get(random.nextInt(hobbyIds.size()));
+            client.saveHobby(hobbyId, username);
+            client.removeHobby(hobbyId, username);
+        }
+    }
+
+    private void runBusiness(HobbieClient client, String username) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        client.register(username, PASSWORD);
+        for (int i = 0; i < ITERATIONS; i++) {
+            client.authenticate(username, PASSWORD);
+            client.createHobby(username, CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    LOCATIONS[random.nextInt(LOCATIONS.length)]);
+            client.home(username, "business");
+        }
+    }
+
+    private static void stopStandIns() {
+        try {
+            smtp.stop();
+            s3.close();
+            if (postgres != null) {
+                postgres.close();
+            }
+        } catch (Exception ignored) {
+            // JVM is exiting; nothing left to clean up reliably
+        }
+    }
+}
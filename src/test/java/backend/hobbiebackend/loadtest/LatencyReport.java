@@ -0,0 +1,78 @@
+package backend.hobbiebackend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts, reported as p50/p99/max and throughput over the run.
+ */
+class LatencyReport {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Histogram> latencies = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, String> firstFailures = new ConcurrentSkipListMap<>();
+
+    void recordFailure(String endpoint, long elapsedNanos, String detail) {
+        record(endpoint, elapsedNanos, false);
+        this.firstFailures.putIfAbsent(endpoint, detail.length() > 300 ? detail.substring(0, 300) : detail);
+    }
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        this.latencies.computeIfAbsent(endpoint, name -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(micros);
+        if (!success) {
+            this.errors.computeIfAbsent(endpoint, name -> new LongAdder()).increment();
+        }
+    }
+
+    long totalRequests() {
+        return this.latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrors() {
+        return this.errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    String format(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder report = new StringBuilder(String.format("%-28s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "p50 ms", "p99 ms", "max ms", "req/s"));
+        this.latencies.forEach((endpoint, histogram) -> report.append(String.format(
+                "%-28s %8d %7d %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, histogram.getTotalCount(), errorCount(endpoint),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0, histogram.getTotalCount() / seconds)));
+        report.append(String.format("%-28s %8d %7d %39.1f%n", "total", totalRequests(), totalErrors(),
+                totalRequests() / seconds));
+        this.firstFailures.forEach((endpoint, detail) ->
+                report.append(String.format("first %s failure: %s%n", endpoint, detail)));
+        return report.toString();
+    }
+
+    void writeCsv(Path file, long elapsedNanos) throws IOException {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder csv = new StringBuilder("endpoint,requests,errors,p50_ms,p99_ms,max_ms,requests_per_second\n");
+        this.latencies.forEach((endpoint, histogram) -> csv.append(String.format("%s,%d,%d,%.1f,%.1f,%.1f,%.1f%n",
+                endpoint, histogram.getTotalCount(), errorCount(endpoint),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0, histogram.getTotalCount() / seconds)));
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, csv);
+    }
+
+    private long errorCount(String endpoint) {
+        LongAdder count = this.errors.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+}
@@ -0,0 +1,151 @@
+package backend.hobbiebackend.loadtest;
+
+import backend.hobbiebackend.model.entities.Category;
+import backend.hobbiebackend.model.entities.Hobby;
+import backend.hobbiebackend.model.entities.Location;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes on the wire and serialization CPU for hobby list responses ({@code /home}, {@code /hobbies/saved},
+ * the offers inside {@code /business}), excluded from the default build. Run with {@code mvn -P load-test test}.
+ * <p>
+ * Compares the application's reflective mapper with a Blackbird (generated accessor) variant, each written
+ * as-is and through gzip the way the servlet container compresses responses. Tunables, as system properties:
+ * benchmark.sizes (comma separated list sizes), benchmark.iterations, benchmark.rounds.
+ */
+public class ResponseSerializationBenchmark {
+    private static final String SIZES = System.getProperty("benchmark.sizes", "20,100,500");
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 1000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    void run() throws IOException {
+        ObjectMapper reflective = mapper(false);
+        ObjectMapper blackbird = mapper(true);
+
+        System.out.printf("%n%-6s %-11s %10s %10s %12s %12s%n",
+                "items", "mapper", "bytes", "gzip", "cpu us/resp", "+gzip us");
+        for (String size : SIZES.split(",")) {
+            List<Hobby> hobbies = hobbies(Integer.parseInt(size.trim()));
+            Result plain = measure(reflective, hobbies);
+            Result accelerated = measure(blackbird, hobbies);
+            print(size.trim(), "reflective", plain);
+            print(size.trim(), "blackbird", accelerated);
+
+            assertTrue(plain.bytes == accelerated.bytes, "Both mappers must produce the same document");
+            assertTrue(accelerated.gzipBytes < accelerated.bytes, "gzip should shrink hobby lists");
+        }
+    }
+
+    private Result measure(ObjectMapper mapper, List<Hobby> hobbies) throws IOException {
+        // Warm up serializers and the JIT before counting
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValue(OutputStream.nullOutputStream(), hobbies);
+        }
+
+        ByteArrayOutputStream identity = new ByteArrayOutputStream();
+        mapper.writeValue(identity, hobbies);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            mapper.writeValue(gzip, hobbies);
+        }
+
+        // Best of several rounds, single-run CPU numbers on a shared machine are mostly noise
+        long serializeNanos = Long.MAX_VALUE;
+        long gzipNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = this.threads.getCurrentThreadCpuTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                mapper.writeValue(OutputStream.nullOutputStream(), hobbies);
+            }
+            serializeNanos = Math.min(serializeNanos, this.threads.getCurrentThreadCpuTime() - start);
+
+            start = this.threads.getCurrentThreadCpuTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                try (GZIPOutputStream gzip = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+                    mapper.writeValue(gzip, hobbies);
+                }
+            }
+            gzipNanos = Math.min(gzipNanos, this.threads.getCurrentThreadCpuTime() - start);
+        }
+
+        return new Result(identity.size(), compressed.size(),
+                serializeNanos / ITERATIONS / 1000.0, (gzipNanos - serializeNanos) / ITERATIONS / 1000.0);
+    }
+
+    private static void print(String size, String mapper, Result result) {
+        System.out.printf("%-6s %-11s %10d %10d %12.1f %12.1f%n",
+                size, mapper, result.bytes, result.gzipBytes, result.cpuMicros, result.gzipCpuMicros);
+    }
+
+    private static ObjectMapper mapper(boolean accelerated) {
+        // Same modules and date format as the application's Boot-configured mapper
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .addModule(new JavaTimeModule())
+                .addModule(new Hibernate6Module().disable(Hibernate6Module.Feature.USE_TRANSIENT_ANNOTATION));
+        if (accelerated) {
+            builder.addModule(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+
+    private static List<Hobby> hobbies(int count) {
+        CategoryNameEnum[] categories = CategoryNameEnum.values();
+        LocationEnum[] locations = LocationEnum.values();
+        List<Hobby> hobbies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Category category = new Category(categories[i % categories.length]);
+            category.setId((long) i % categories.length + 1);
+            Location location = new Location(locations[i % locations.length]);
+            location.setId((long) i % locations.length + 1);
+
+            Hobby hobby = new Hobby();
+            hobby.setId((long) i + 1);
+            hobby.setName("Climbing session " + i);
+            hobby.setSlogan("Reach the top");
+            hobby.setIntro("Indoor climbing for everyone, from first timers to regulars " + i);
+            hobby.setDescription("Bouldering and top rope sessions with certified instructors. "
+                    + "Shoes and harnesses can be rented at the front desk. Session " + i);
+            hobby.setCreator("business_" + i % 7);
+            hobby.setPrice(BigDecimal.valueOf(20 + i % 30));
+            hobby.setContactInfo("climb" + i + "@example.com");
+            hobby.setCategory(category);
+            hobby.setLocation(location);
+            hobby.setProfileImgUrl("https://hobbie.s3.amazonaws.com/" + i + "-profile.png");
+            hobby.setGalleryImgUrl1("https://hobbie.s3.amazonaws.com/" + i + "-gallery-1.png");
+            hobby.setGalleryImgUrl2("https://hobbie.s3.amazonaws.com/" + i + "-gallery-2.png");
+            hobby.setGalleryImgUrl3("https://hobbie.s3.amazonaws.com/" + i + "-gallery-3.png");
+            hobby.setVersion((long) i % 3);
+            hobby.setModifiedAt(Instant.ofEpochSecond(1_700_000_000L + i));
+            hobbies.add(hobby);
+        }
+        return hobbies;
+    }
+
+    private record Result(int bytes, int gzipBytes, double cpuMicros, double gzipCpuMicros) {
+    }
+}
@@ -0,0 +1,108 @@
+package backend.hobbiebackend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal path-style S3 endpoint: accepts PutObject and DeleteObject and keeps only object sizes,
+ * so uploads pay for a real HTTP round trip without touching AWS.
+ */
+class S3StandIn implements AutoCloseable {
+    private final HttpServer server;
+    private final Map<String, Long> objects = new ConcurrentHashMap<>();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    S3StandIn() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + this.server.getAddress().getPort();
+    }
+
+    int objectCount() {
+        return this.objects.size();
+    }
+
+    long bytesReceived() {
+        return this.bytesReceived.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String key = exchange.getRequestURI().getPath();
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        switch (exchange.getRequestMethod()) {
+            case "PUT":
+                String contentSha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+                byte[] payload = contentSha256 != null && contentSha256.startsWith("STREAMING-")
+                        ? decodeAwsChunked(body) : body;
+                this.objects.put(key, (long) payload.length);
+                this.bytesReceived.addAndGet(payload.length);
+                // The SDK validates the ETag against the MD5 of what it sent
+                exchange.getResponseHeaders().add("ETag", "\"" + md5Hex(payload) + "\"");
+                exchange.sendResponseHeaders(200, -1);
+                break;
+            case "DELETE":
+                this.objects.remove(key);
+                exchange.sendResponseHeaders(204, -1);
+                break;
+            default:
+                exchange.sendResponseHeaders(200, -1);
+        }
+        exchange.close();
+    }
+
+    // Body format: <hex-size>;chunk-signature=<sig>\r\n<data>\r\n ... 0;chunk-signature=<sig>\r\n\r\n
+    private static byte[] decodeAwsChunked(byte[] body) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(body.length);
+        int position = 0;
+        while (position < body.length) {
+            int lineEnd = indexOfCrlf(body, position);
+            String header = new String(body, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";", 2)[0].trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            payload.write(body, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return payload.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] body, int from) {
+        for (int i = from; i < body.length - 1; i++) {
+            if (body[i] == '\r' && body[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return body.length;
+    }
+
+    private static String md5Hex(byte[] payload) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(payload));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+    }
+}
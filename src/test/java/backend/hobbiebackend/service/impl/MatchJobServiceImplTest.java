@@ -0,0 +1,99 @@
+package backend.hobbiebackend.service.impl;
+
+import backend.hobbiebackend.model.dto.MatchJobDto;
+import backend.hobbiebackend.model.entities.enums.MatchJobStatusEnum;
+import backend.hobbiebackend.service.TestService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MatchJobServiceImplTest {
+    private final TestService testService = mock(TestService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MatchJobServiceImpl matchJobs = new MatchJobServiceImpl(this.testService, this.meterRegistry,
+            1, 2, 100, 10);
+
+    @AfterEach
+    void tearDown() {
+        this.matchJobs.close();
+    }
+
+    @Test
+    void submissionsWithinTheWindowShareOneJob() throws InterruptedException {
+        when(this.testService.refreshMatches("anna")).thenReturn(4);
+
+        MatchJobDto first = this.matchJobs.submit("anna");
+        MatchJobDto second = this.matchJobs.submit("anna");
+        assertEquals(first.getId(), second.getId());
+        assertEquals(MatchJobStatusEnum.QUEUED, first.getStatus());
+
+        MatchJobDto done = awaitFinished(first.getId(), "anna");
+        assertEquals(MatchJobStatusEnum.DONE, done.getStatus());
+        assertEquals(4, done.getMatchCount());
+        verify(this.testService, times(1)).refreshMatches("anna");
+        assertEquals(1.0, this.meterRegistry.get("hobbie.match.jobs").tag("result", "coalesced").counter().count());
+    }
+
+    @Test
+    void submissionWhileRunningQueuesAFollowUpJob() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.testService.refreshMatches("ben")).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+
+        MatchJobDto first = this.matchJobs.submit("ben");
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        MatchJobDto second = this.matchJobs.submit("ben");
+        release.countDown();
+
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(MatchJobStatusEnum.DONE, awaitFinished(second.getId(), "ben").getStatus());
+        verify(this.testService, times(2)).refreshMatches("ben");
+    }
+
+    @Test
+    void failuresAreReportedOnlyToTheOwner() throws InterruptedException {
+        when(this.testService.refreshMatches("carl")).thenThrow(new IllegalStateException("no answers"));
+
+        MatchJobDto job = this.matchJobs.submit("carl");
+
+        assertFalse(this.matchJobs.findJob(job.getId(), "someone-else").isPresent());
+        MatchJobDto failed = awaitFinished(job.getId(), "carl");
+        assertEquals(MatchJobStatusEnum.FAILED, failed.getStatus());
+        assertEquals("Matching failed", failed.getError());
+    }
+
+    @Test
+    void saturatesAtTheQueueLimit() {
+        this.matchJobs.submit("dora");
+        assertFalse(this.matchJobs.isSaturated());
+        this.matchJobs.submit("emil");
+        assertTrue(this.matchJobs.isSaturated());
+    }
+
+    private MatchJobDto awaitFinished(String id, String username) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        MatchJobDto job = this.matchJobs.findJob(id, username).orElseThrow();
+        while (job.getStatus() == MatchJobStatusEnum.QUEUED || job.getStatus() == MatchJobStatusEnum.RUNNING) {
+            assertTrue(System.nanoTime() < deadline, "Match job did not finish");
+            Thread.sleep(20);
+            job = this.matchJobs.findJob(id, username).orElseThrow();
+        }
+        return job;
+    }
+}
@@ -0,0 +1,158 @@
+package backend.hobbiebackend.web;
+
+import backend.hobbiebackend.model.entities.*;
+import backend.hobbiebackend.model.entities.enums.CategoryNameEnum;
+import backend.hobbiebackend.model.entities.enums.GenderEnum;
+import backend.hobbiebackend.model.entities.enums.LocationEnum;
+import backend.hobbiebackend.model.entities.enums.UserRoleEnum;
+import backend.hobbiebackend.model.repostiory.AppClientRepository;
+import backend.hobbiebackend.model.repostiory.BusinessOwnerRepository;
+import backend.hobbiebackend.model.repostiory.HobbyRepository;
+import backend.hobbiebackend.model.repostiory.TestRepository;
+import backend.hobbiebackend.security.HobbieUserDetailsService;
+import backend.hobbiebackend.service.CategoryService;
+import backend.hobbiebackend.service.LocationService;
+import backend.hobbiebackend.utility.JWTUtility;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Runs each endpoint scenario inside a rolled-back test transaction and fails when it issues more SQL
+ * statements or entity loads than its budget. The persistence context is flushed and cleared around the
+ * request, so the counts match a production request that starts with an empty session and commits.
+ * Run with -Dquery.budget.report=true to print the measured counts when adjusting a budget.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        // Fixtures are written straight through the repositories and never committed, so budgets cover the database paths
+        "hobby.catalog.enabled=false",
+        // Scheduled reads would otherwise land in whatever request is being measured
+        "hobby.trending.refresh-interval-ms=3600000",
+        "business-stats.refresh-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Transactional
+public abstract class AbstractQueryBudgetTest {
+    protected static final String CLIENT = "budget_client";
+    protected static final String BUSINESS = "budget_business";
+    protected static final String PASSWORD = "topsecret";
+
+    @Autowired
+    protected MockMvc mvc;
+    @Autowired
+    protected EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JWTUtility jwtUtility;
+    @Autowired
+    private HobbieUserDetailsService userDetailsService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private LocationService locationService;
+    @Autowired
+    private HobbyRepository hobbyRepository;
+    @Autowired
+    private AppClientRepository appClientRepository;
+    @Autowired
+    private BusinessOwnerRepository businessOwnerRepository;
+    @Autowired
+    private TestRepository testRepository;
+
+    @MockitoBean
+    protected S3Client s3Client;
+    @MockitoBean
+    protected JavaMailSender javaMailSender;
+
+    protected QueryBudget queryBudget;
+    protected AppClient client;
+    protected BusinessOwner business;
+    protected List<Hobby> hobbies;
+
+    @BeforeEach
+    public void setUpFixtures() {
+        queryBudget = new QueryBudget(entityManagerFactory);
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+
+        business = new BusinessOwner(BUSINESS, BUSINESS + "@example.com",
+                EnumSet.of(UserRoleEnum.BUSINESS_USER),
+                encodedPassword, "Budget Business", "Budget Street 1");
+        business.setHobby_offers(new HashSet<>());
+
+        hobbies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Hobby hobby = new Hobby();
+            hobby.setName("Budget climbing " + i);
+            hobby.setSlogan("Reach the top");
+            hobby.setIntro("Indoor climbing for everyone");
+            hobby.setDescription("Bouldering and top rope sessions");
+            hobby.setCreator(BUSINESS);
+            hobby.setPrice(BigDecimal.valueOf(20 + i));
+            hobby.setContactInfo("climb@example.com");
+            hobby.setCategory(categoryService.findByName(CategoryNameEnum.ACTIVE));
+            hobby.setLocation(locationService.getLocationByName(LocationEnum.ZURICH));
+            hobbies.add(hobbyRepository.save(hobby));
+        }
+        business.getHobby_offers().addAll(hobbies);
+        business = businessOwnerRepository.save(business);
+
+        backend.hobbiebackend.model.entities.Test results = new backend.hobbiebackend.model.entities.Test();
+        results.setUsername(CLIENT);
+        results.setCategoryOne(CategoryNameEnum.ACTIVE);
+        results.setLocation(LocationEnum.ZURICH);
+        results = testRepository.save(results);
+
+        client = new AppClient(CLIENT, CLIENT + "@example.com",
+                EnumSet.of(UserRoleEnum.USER),
+                encodedPassword, "Budget Client", GenderEnum.OTHER);
+        client.setTestResults(results);
+        client.setSaved_hobbies(new ArrayList<>(hobbies.subList(0, 2)));
+        client.setHobby_matches(new HashSet<>(hobbies));
+        client = appClientRepository.save(client);
+        entityManager.flush();
+    }
+
+    protected String bearer(String username) {
+        return "Bearer " + jwtUtility.generateToken(userDetailsService.loadUserByUsername(username));
+    }
+
+    protected ResultActions performWithinBudget(String scenario, long maxStatements, long maxEntityLoads,
+                                                MockHttpServletRequestBuilder request) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        queryBudget.reset();
+
+        ResultActions result = mvc.perform(request);
+        // Writes are committed at the end of a real request; flush so they are counted here as well.
+        entityManager.flush();
+
+        if (Boolean.getBoolean("query.budget.report")) {
+            System.out.printf("[query-budget] %s: %d statements, %d entity loads%n",
+                    scenario, queryBudget.statements(), queryBudget.entityLoads());
+        }
+        queryBudget.assertWithin(scenario, maxStatements, maxEntityLoads);
+        return result;
+    }
+}
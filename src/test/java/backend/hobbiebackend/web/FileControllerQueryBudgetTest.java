@@ -0,0 +1,19 @@
+package backend.hobbiebackend.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class FileControllerQueryBudgetTest extends AbstractQueryBudgetTest {
+
+    @Test
+    void fileUrl() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /api/files/url", 1, 1,
+                get("/api/files/url")
+                        .param("fileName", "profile.png")
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+}
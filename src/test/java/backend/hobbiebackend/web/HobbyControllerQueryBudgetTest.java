@@ -0,0 +1,316 @@
+package backend.hobbiebackend.web;
+
+import backend.hobbiebackend.catalog.BusinessStatsAggregator;
+import backend.hobbiebackend.catalog.HobbyViewers;
+import backend.hobbiebackend.model.entities.Hobby;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class HobbyControllerQueryBudgetTest extends AbstractQueryBudgetTest {
+    @Autowired
+    private HobbyViewers hobbyViewers;
+    @Autowired
+    private BusinessStatsAggregator businessStatsAggregator;
+
+    @Test
+    void createHobby() throws Exception {
+        String token = bearer(BUSINESS);
+        performWithinBudget("POST /hobbies", 7, 7,
+                withHobbyForm(multipart("/hobbies"), true)
+                        .param("creator", BUSINESS)
+                        .header("Authorization", token))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void updateHobby() throws Exception {
+        String token = bearer(BUSINESS);
+        performWithinBudget("PUT /hobbies/{id}", 5, 4,
+                withHobbyForm(multipart(HttpMethod.PUT, "/hobbies/{id}", hobbies.get(0).getId()), false)
+                        .header(HttpHeaders.IF_MATCH, eTagOf(hobbies.get(0)))
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + (hobbies.get(0).getVersion() + 1) + "\""));
+    }
+
+    @Test
+    void isHobbySaved() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /hobbies/is-saved", 2, 1,
+                get("/hobbies/is-saved")
+                        .param("id", String.valueOf(hobbies.get(0).getId()))
+                        .param("username", CLIENT)
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void searchHobbies() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /hobbies/search", 2, 1,
+                get("/hobbies/search")
+                        .param("q", "climbing")
+                        .param("location", "ZURICH")
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void browseHobbies() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /hobbies/browse", 3, 1,
+                get("/hobbies/browse")
+                        .param("category", "ACTIVE")
+                        .param("location", "ZURICH")
+                        .param("sort", "PRICE_ASC")
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void hobbyDetails() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /hobbies/{id}", 2, 4,
+                get("/hobbies/{id}", hobbies.get(0).getId())
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTagOf(hobbies.get(0))));
+    }
+
+    @Test
+    void gzippedHobbyDetailsShareTheWeakETag() throws Exception {
+        String token = bearer(CLIENT);
+        mvc.perform(get("/hobbies/{id}", hobbies.get(0).getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, eTagOf(hobbies.get(0))));
+    }
+
+    @Test
+    void hobbyDetailsNotModified() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /hobbies/{id} (If-None-Match)", 2, 1,
+                get("/hobbies/{id}", hobbies.get(0).getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTagOf(hobbies.get(0)))
+                        .header("Authorization", token))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void relatedHobbies() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /hobbies/{id}/related", 2, 1,
+                get("/hobbies/{id}/related", hobbies.get(0).getId())
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void trendingHobbies() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /hobbies/trending", 1, 1,
+                get("/hobbies/trending")
+                        .param("location", "ZURICH")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void hobbySaveCount() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /hobbies/{id}/saves", 2, 1,
+                get("/hobbies/{id}/saves", hobbies.get(0).getId())
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hobbyId").value(hobbies.get(0).getId()));
+    }
+
+    @Test
+    void hobbyViewers() throws Exception {
+        Long id = hobbies.get(0).getId();
+        mvc.perform(get("/hobbies/{id}", id).header("Authorization", bearer(CLIENT)))
+                .andExpect(status().isOk());
+        // Joins the test transaction, so the stored sketch is rolled back with the fixtures
+        hobbyViewers.flush();
+
+        String token = bearer(BUSINESS);
+        performWithinBudget("GET /hobbies/{id}/viewers", 3, 4,
+                get("/hobbies/{id}/viewers", id)
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uniqueViewers").value(1))
+                .andExpect(jsonPath("$.upperBound").value(1));
+    }
+
+    @Test
+    void businessDashboard() throws Exception {
+        // The rollup joins the test transaction, like the viewer flush
+        businessStatsAggregator.markDirty(hobbies.stream().map(Hobby::getId).toList());
+        businessStatsAggregator.refreshDirty();
+
+        String token = bearer(BUSINESS);
+        performWithinBudget("GET /hobbies/dashboard", 2, 1,
+                get("/hobbies/dashboard")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(hobbies.size()))
+                .andExpect(jsonPath("$[0].hobbyId").value(hobbies.get(0).getId()))
+                .andExpect(jsonPath("$[0].matchAppearances").value(1))
+                .andExpect(jsonPath("$[0].refreshedAt").exists());
+    }
+
+    @Test
+    void updateHobbyWithStaleETag() throws Exception {
+        String token = bearer(BUSINESS);
+        mvc.perform(withHobbyForm(multipart(HttpMethod.PUT, "/hobbies/{id}", hobbies.get(0).getId()), false)
+                        .header(HttpHeaders.IF_MATCH, "\"" + (hobbies.get(0).getVersion() + 1) + "\"")
+                        .header("Authorization", token))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void importHobbiesFromNdjson() throws Exception {
+        String token = bearer(BUSINESS);
+        String body = String.join("\n",
+                "{\"name\":\"Imported pottery\",\"category\":\"CREATIVE\",\"location\":\"ZURICH\",\"price\":30}",
+                "{\"name\":\"Imported chess\",\"category\":\"INTELLECTUAL\",\"location\":\"BERN\",\"price\":5}",
+                "{\"name\":\"No price\",\"category\":\"FUN\",\"location\":\"BERN\"}",
+                "not json",
+                "{\"name\":\"Imported yoga\",\"category\":\"RELAX\",\"location\":\"ZURICH\",\"price\":12.5}");
+        // One lookup per distinct category and location plus the id allocation; the JDBC insert batches bypass
+        // Hibernate's statistics, so this is what must stay independent of the row count
+        performWithinBudget("POST /hobbies/import (ndjson)", 8, 7,
+                post("/hobbies/import")
+                        .contentType("application/x-ndjson")
+                        .content(body)
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errors[1].row").value(4));
+    }
+
+    @Test
+    void importHobbiesFromCsv() throws Exception {
+        String token = bearer(BUSINESS);
+        String body = "name,slogan,category,location,price,contactInfo\n"
+                + "Imported painting,\"Colour, shape\",CREATIVE,ZURICH,40,paint@example.com\n"
+                + "Imported karaoke,,SOCIAL,NOWHERE,10,\n";
+        mvc.perform(post("/hobbies/import")
+                        .contentType("text/csv")
+                        .content(body)
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
+    @Test
+    void exportHobbies() throws Exception {
+        String token = bearer(BUSINESS);
+        String body = performWithinBudget("GET /hobbies/export", 2, 6,
+                get("/hobbies/export")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Budget climbing 0\""));
+        assertTrue(lines[2].contains("\"category\":{"));
+    }
+
+    @Test
+    void exportSavedHobbies() throws Exception {
+        String token = bearer(CLIENT);
+        String body = performWithinBudget("GET /hobbies/saved/export", 2, 5,
+                get("/hobbies/saved/export")
+                        .param("username", CLIENT)
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(2, body.split("\n").length);
+    }
+
+    @Test
+    void saveHobby() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("POST /hobbies/save", 8, 7,
+                post("/hobbies/save")
+                        .param("id", String.valueOf(hobbies.get(2).getId()))
+                        .param("username", CLIENT)
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void removeHobby() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("DELETE /hobbies/remove", 6, 6,
+                delete("/hobbies/remove")
+                        .param("id", String.valueOf(hobbies.get(0).getId()))
+                        .param("username", CLIENT)
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deleteHobby() throws Exception {
+        String token = bearer(BUSINESS);
+        performWithinBudget("DELETE /hobbies/{id}", 8, 7,
+                delete("/hobbies/{id}", hobbies.get(0).getId())
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void savedHobbies() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /hobbies/saved", 3, 6,
+                get("/hobbies/saved")
+                        .param("username", CLIENT)
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    private MockMultipartHttpServletRequestBuilder withHobbyForm(MockMultipartHttpServletRequestBuilder request,
+                                                                 boolean withImages) {
+        request.param("name", "Budget bouldering")
+                .param("slogan", "Reach the top")
+                .param("intro", "Indoor climbing for everyone")
+                .param("description", "Bouldering and top rope sessions")
+                .param("category", "ACTIVE")
+                .param("price", "25")
+                .param("location", "ZURICH")
+                .param("contactInfo", "climb@example.com");
+        if (withImages) {
+            for (String part : new String[]{"profileImg", "galleryImg1", "galleryImg2", "galleryImg3"}) {
+                request.file(new MockMultipartFile(part, part + ".png", "image/png", new byte[]{1, 2, 3}));
+            }
+        }
+        return request;
+    }
+
+    private static String eTagOf(Hobby hobby) {
+        return "W/\"" + hobby.getVersion() + "\"";
+    }
+}
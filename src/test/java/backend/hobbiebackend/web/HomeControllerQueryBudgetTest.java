@@ -0,0 +1,31 @@
+package backend.hobbiebackend.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class HomeControllerQueryBudgetTest extends AbstractQueryBudgetTest {
+
+    @Test
+    void clientHome() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /home (user)", 2, 6,
+                get("/home")
+                        .param("username", CLIENT)
+                        .param("role", "user")
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void businessHome() throws Exception {
+        String token = bearer(BUSINESS);
+        performWithinBudget("GET /home (business)", 2, 6,
+                get("/home")
+                        .param("username", BUSINESS)
+                        .param("role", "business")
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+}
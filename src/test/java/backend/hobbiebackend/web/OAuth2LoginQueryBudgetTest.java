@@ -0,0 +1,59 @@
+package backend.hobbiebackend.web;
+
+import backend.hobbiebackend.security.OAuth2LoginSuccessHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The success handler runs after the provider round trip, so it is called directly instead of through MockMvc
+public class OAuth2LoginQueryBudgetTest extends AbstractQueryBudgetTest {
+    @Autowired
+    private OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
+
+    @Test
+    void firstLoginTakesTheNextFreeSuffix() throws Exception {
+        // Would match budget_client as a LIKE pattern if the underscore were not escaped
+        loginWithinBudget("first OAuth2 login (name free)", 4, 0, "budgetxclient7@example.org");
+
+        String redirect = loginWithinBudget("first OAuth2 login (name taken)", 4, 0, CLIENT + "@example.org");
+        assertTrue(redirect.endsWith("username=" + CLIENT + "1&role=USER"), redirect);
+
+        redirect = loginWithinBudget("first OAuth2 login (name taken twice)", 4, 0, CLIENT + "@example.net");
+        assertTrue(redirect.endsWith("username=" + CLIENT + "2&role=USER"), redirect);
+    }
+
+    @Test
+    void returningLoginKeepsTheUsername() throws Exception {
+        String redirect = loginWithinBudget("returning OAuth2 login", 1, 1, CLIENT + "@example.com");
+        assertTrue(redirect.endsWith("username=" + CLIENT + "&role=USER"), redirect);
+    }
+
+    private String loginWithinBudget(String scenario, long maxStatements, long maxEntityLoads, String email)
+            throws Exception {
+        DefaultOAuth2User user = new DefaultOAuth2User(AuthorityUtils.createAuthorityList("OAUTH2_USER"),
+                Map.of("email", email, "name", "OAuth User"), "email");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        entityManager.flush();
+        entityManager.clear();
+        queryBudget.reset();
+        oAuth2LoginSuccessHandler.onAuthenticationSuccess(new MockHttpServletRequest(), response,
+                new OAuth2AuthenticationToken(user, user.getAuthorities(), "google"));
+        entityManager.flush();
+
+        if (Boolean.getBoolean("query.budget.report")) {
+            System.out.printf("[query-budget] %s: %d statements, %d entity loads%n",
+                    scenario, queryBudget.statements(), queryBudget.entityLoads());
+        }
+        queryBudget.assertWithin(scenario, maxStatements, maxEntityLoads);
+        return response.getRedirectedUrl();
+    }
+}
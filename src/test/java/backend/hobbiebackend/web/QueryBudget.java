@@ -0,0 +1,37 @@
+package backend.hobbiebackend.web;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class QueryBudget {
+    private final Statistics statistics;
+
+    public QueryBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public void reset() {
+        this.statistics.clear();
+    }
+
+    public long statements() {
+        return this.statistics.getPrepareStatementCount();
+    }
+
+    public long entityLoads() {
+        return this.statistics.getEntityLoadCount();
+    }
+
+    public void assertWithin(String scenario, long maxStatements, long maxEntityLoads) {
+        long statements = statements();
+        long entityLoads = entityLoads();
+        assertTrue(statements <= maxStatements, () -> String.format(
+                "%s executed %d SQL statements, budget is %d", scenario, statements, maxStatements));
+        assertTrue(entityLoads <= maxEntityLoads, () -> String.format(
+                "%s loaded %d entities, budget is %d", scenario, entityLoads, maxEntityLoads));
+    }
+}
@@ -0,0 +1,29 @@
+package backend.hobbiebackend.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class TestControllerQueryBudgetTest extends AbstractQueryBudgetTest {
+
+    @Test
+    void saveTestResults() throws Exception {
+        String token = bearer(CLIENT);
+        // Matching runs afterwards on a match worker, outside this request
+        performWithinBudget("POST /test", 11, 8,
+                post("/test")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + CLIENT + "\",\"categoryOne\":\"ACTIVE\",\"categoryTwo\":\"FUN\","
+                                + "\"categoryThree\":\"CREATIVE\",\"categoryFour\":\"RELAX\",\"categoryFive\":\"INTELLECTUAL\","
+                                + "\"categorySix\":\"SOCIAL\",\"categorySeven\":\"OTHER\",\"location\":\"ZURICH\"}")
+                        .header("Authorization", token))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+}
@@ -0,0 +1,152 @@
+package backend.hobbiebackend.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class UserControllerQueryBudgetTest extends AbstractQueryBudgetTest {
+
+    @Test
+    void signup() throws Exception {
+        performWithinBudget("POST /signup", 2, 0,
+                post("/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"budget_new_client\",\"fullName\":\"New Client\",\"gender\":\"FEMALE\","
+                                + "\"email\":\"budget_new_client@example.com\",\"password\":\"topsecret\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void registerBusiness() throws Exception {
+        performWithinBudget("POST /register", 2, 0,
+                post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"budget_new_business\",\"businessName\":\"New Business\","
+                                + "\"address\":\"Budget Street 2\",\"email\":\"budget_new_business@example.com\","
+                                + "\"password\":\"topsecret\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    // The failed insert leaves the shared session unusable, so these two are checked without a budget
+    @Test
+    void signupWithTakenEmail() throws Exception {
+        mvc.perform(post("/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"budget_new_client\",\"fullName\":\"New Client\",\"gender\":\"FEMALE\","
+                        + "\"email\":\"" + CLIENT + "@example.com\",\"password\":\"topsecret\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.field").value("email"));
+    }
+
+    @Test
+    void registerBusinessWithTakenName() throws Exception {
+        mvc.perform(post("/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"budget_new_business\",\"businessName\":\"Budget Business\","
+                        + "\"address\":\"Budget Street 2\",\"email\":\"budget_new_business@example.com\","
+                        + "\"password\":\"topsecret\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.field").value("businessName"));
+    }
+
+    @Test
+    void clientDetails() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("GET /client", 4, 8,
+                get("/client")
+                        .param("username", CLIENT)
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles.length()").value(1))
+                .andExpect(jsonPath("$.hobby_matches.length()").value(3))
+                .andExpect(jsonPath("$.saved_hobbies.length()").value(2));
+    }
+
+    @Test
+    void businessDetails() throws Exception {
+        String token = bearer(BUSINESS);
+        performWithinBudget("GET /business", 2, 7,
+                get("/business")
+                        .param("username", BUSINESS)
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles.length()").value(1))
+                .andExpect(jsonPath("$.hobby_offers.length()").value(3));
+    }
+
+    @Test
+    void updateUser() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("PUT /user", 6, 8,
+                put("/user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + client.getId() + ",\"fullName\":\"Renamed Client\",\"gender\":\"MALE\","
+                                + "\"password\":\"newsecret\"}")
+                        .header("Authorization", token))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void sendNotification() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("POST /notification", 2, 2,
+                post("/notification")
+                        .param("email", client.getEmail())
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void setUpNewPassword() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("PUT /password", 3, 2,
+                put("/password")
+                        .param("id", String.valueOf(client.getId()))
+                        .param("password", "newsecret")
+                        .header("Authorization", token))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void updateBusiness() throws Exception {
+        String token = bearer(BUSINESS);
+        performWithinBudget("PUT /business", 5, 7,
+                put("/business")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + business.getId() + ",\"businessName\":\"Renamed Business\","
+                                + "\"address\":\"Budget Street 3\",\"password\":\"newsecret\"}")
+                        .header("Authorization", token))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void deleteUser() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("DELETE /user/{id}", 8, 3,
+                delete("/user/{id}", client.getId())
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void authenticate() throws Exception {
+        performWithinBudget("POST /authenticate", 2, 1,
+                post("/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + CLIENT + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void logIn() throws Exception {
+        String token = bearer(CLIENT);
+        performWithinBudget("POST /login", 2, 1,
+                post("/login")
+                        .param("username", CLIENT)
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+}